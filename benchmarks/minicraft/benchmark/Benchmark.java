@@ -0,0 +1,25 @@
+package minicraft.benchmark;
+
+// Um caso de benchmark: preparar() roda fora da medição antes de cada iteração,
+// executar() é a operação medida e devolve um valor para não ser eliminada pelo JIT.
+// liberar() roda depois da iteração, para o estado não ocupar memória até a próxima.
+public abstract class Benchmark {
+    private final String nome;
+    private final int operacoesPorIteracao;
+
+    protected Benchmark(String nome, int operacoesPorIteracao) {
+        this.nome = nome;
+        this.operacoesPorIteracao = operacoesPorIteracao;
+    }
+
+    public void preparar() {
+    }
+
+    public abstract long executar();
+
+    public void liberar() {
+    }
+
+    public String getNome() { return nome; }
+    public int getOperacoesPorIteracao() { return operacoesPorIteracao; }
+}
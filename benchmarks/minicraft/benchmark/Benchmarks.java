@@ -0,0 +1,583 @@
+package minicraft.benchmark;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+import minicraft.core.Agendador;
+import minicraft.core.GameClock;
+import minicraft.core.Log;
+import minicraft.core.Log.Categoria;
+import minicraft.core.Log.Nivel;
+import minicraft.core.RodaTemporizadores;
+import minicraft.graphics.Cronometro;
+import minicraft.graphics.MapaLuz;
+import minicraft.graphics.RenderSnapshot;
+import minicraft.graphics.SistemaParticulas;
+import minicraft.inimigos.ArmazemInimigos;
+import minicraft.inimigos.Creeper;
+import minicraft.inimigos.Inimigo;
+import minicraft.inimigos.Slime;
+import minicraft.inimigos.Zumbi;
+import minicraft.player.Player;
+import minicraft.world.GradeEspacial;
+import minicraft.world.Mapa;
+
+// Benchmarks dos caminhos quentes da simulação e do render.
+// Rodar a partir da raiz do repositório: sh benchmarks/run.sh [filtro] [--csv arquivo.csv]
+// Resultados em nanossegundos por operação (média, desvio padrão e mínimo entre iterações).
+public class Benchmarks {
+    private static final float DELTA = 1.0f / 60;
+    private static final int LARGURA_TELA = 1200;
+    private static final int ALTURA_TELA = 1000;
+
+    public static void main(String[] args) throws IOException {
+        for (Categoria categoria : Categoria.values()) {
+            Log.setNivel(categoria, Nivel.DESLIGADO);
+        }
+
+        String filtro = null;
+        String csv = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--csv") && i + 1 < args.length) {
+                csv = args[++i];
+            } else {
+                filtro = args[i];
+            }
+        }
+
+        List<Benchmark> benchmarks = criarBenchmarks();
+        Executor executor = new Executor(3, 5);
+        List<Executor.Resultado> resultados = new ArrayList<>();
+
+        PrintWriter out = new PrintWriter(System.out, true);
+        out.printf("%-40s %14s %12s %14s%n", "benchmark", "ns/op", "desvio", "min");
+        for (Benchmark benchmark : benchmarks) {
+            if (filtro != null && !benchmark.getNome().contains(filtro)) continue;
+            try {
+                Executor.Resultado resultado = executor.medir(benchmark);
+                resultado.imprimir(out);
+                resultados.add(resultado);
+            } catch (RuntimeException e) {
+                out.printf("%-40s falhou: %s%n", benchmark.getNome(), e);
+            }
+        }
+
+        if (csv != null) {
+            try (PrintWriter arquivo = new PrintWriter(new FileWriter(csv))) {
+                arquivo.println("benchmark,ns_por_op,desvio,min");
+                for (Executor.Resultado resultado : resultados) {
+                    resultado.imprimirCsv(arquivo);
+                }
+            }
+        }
+
+        // Garante que o JIT não descarte os resultados
+        if (executor.getSumidouro() == 42) out.println();
+    }
+
+    private static List<Benchmark> criarBenchmarks() {
+        List<Benchmark> lista = new ArrayList<>();
+
+        lista.add(new Benchmark("Inimigo.calcularDistancia", 1_000_000) {
+            private InimigoExposto inimigo;
+            private int i;
+
+            @Override
+            public void preparar() {
+                inimigo = new InimigoExposto(300, 300);
+            }
+
+            @Override
+            public long executar() {
+                i++;
+                return (long) inimigo.distancia(i & 1023, (i >> 3) & 1023);
+            }
+        });
+
+        lista.add(new Benchmark("Inimigo.moverEmDirecao", 1_000_000) {
+            private InimigoExposto inimigo;
+            private int i;
+
+            @Override
+            public void preparar() {
+                inimigo = new InimigoExposto(300, 300);
+            }
+
+            @Override
+            public long executar() {
+                i++;
+                // Alterna o alvo para que o inimigo nunca chegue e pare de andar
+                int alvo = (i & 64) == 0 ? 0 : 1000;
+                inimigo.mover(alvo, alvo);
+                return inimigo.getX();
+            }
+        });
+
+        // Com o AssetManager criar uma entidade não lê nem fatia imagem nenhuma
+        lista.add(new Benchmark("new Zumbi (animações em cache)", 500) {
+            private ArmazemInimigos armazem;
+            private int i;
+
+            @Override
+            public void preparar() {
+                armazem = new ArmazemInimigos(getOperacoesPorIteracao());
+            }
+
+            @Override
+            public long executar() {
+                i++;
+                return new Zumbi(armazem, i & 1023, 300).getX();
+            }
+
+            @Override
+            public void liberar() {
+                armazem = null;
+            }
+        });
+
+        for (int n : new int[] {16, 128}) {
+            lista.add(new BenchmarkInimigos("Creeper.update x" + n, n, Creeper::new));
+            lista.add(new BenchmarkInimigos("Slime.update x" + n, n, Slime::new));
+            lista.add(new BenchmarkInimigos("Zumbi.update x" + n, n, Zumbi::new));
+            lista.add(new BenchmarkArmazem("ArmazemInimigos.atualizar (misto) x" + n, n));
+            lista.add(new BenchmarkAtaque("Player.updateAttack x" + n, n, false));
+            lista.add(new BenchmarkAtaque("Player.updateAttack (grade) x" + n, n, true));
+        }
+
+        // Pool em regime: oito explosões por operação repõem o que morre, ~17 mil partículas vivas
+        lista.add(new Benchmark("SistemaParticulas.atualizar (~17k vivas)", 2_000) {
+            private SistemaParticulas particulas;
+            private int i;
+
+            @Override
+            public void preparar() {
+                if (particulas == null) {
+                    particulas = new SistemaParticulas(SistemaParticulas.CAPACIDADE_PADRAO, new SplittableRandom(1));
+                }
+                particulas.limpar();
+                for (int k = 0; k < 400; k++) {
+                    particulas.emitirExplosao(k * 3, k * 2);
+                    particulas.atualizar();
+                }
+            }
+
+            @Override
+            public long executar() {
+                i++;
+                for (int k = 0; k < 8; k++) {
+                    particulas.emitirExplosao(i & 1023, (i >> 2) & 1023);
+                }
+                particulas.atualizar();
+                return particulas.getTotal();
+            }
+        });
+
+        // 2000 tarefas repetidas com períodos diferentes, como as animações de uma tela cheia
+        lista.add(new Benchmark("Agendador.executar (2000 tarefas)", 20_000) {
+            private GameClock relogio;
+            private Agendador agendador;
+            private long disparos;
+
+            @Override
+            public void preparar() {
+                if (agendador == null) {
+                    relogio = new GameClock(60);
+                    agendador = new Agendador(relogio);
+                    for (int k = 0; k < 2000; k++) {
+                        agendador.agendarRepetindo(1 + k % 30, 1 + k % 30, () -> disparos++);
+                    }
+                }
+            }
+
+            @Override
+            public long executar() {
+                agendador.executar();
+                relogio.avancar();
+                return disparos;
+            }
+        });
+
+        // 10000 temporizadores de 0,5s a 1s sempre pendentes; cada operação é um tick, e os que
+        // vencem agendam de novo, como os cooldowns dos inimigos
+        lista.add(new Benchmark("RodaTemporizadores.avancar (10000 pendentes)", 20_000) {
+            private RodaTemporizadores roda;
+            private long tick;
+            private long disparos;
+
+            @Override
+            public void preparar() {
+                if (roda == null) {
+                    roda = new RodaTemporizadores(0, (alvo, tipo) -> {
+                        disparos++;
+                        roda.agendar(tick + 30 + (alvo % 31), alvo, tipo);
+                    });
+                    for (int k = 0; k < 10_000; k++) {
+                        roda.agendar(1 + k % 61, k, 0);
+                    }
+                }
+            }
+
+            @Override
+            public long executar() {
+                roda.avancar(++tick);
+                return disparos;
+            }
+        });
+
+        lista.add(new Benchmark("Cronometro.getSkyColor", 1_000_000) {
+            private Cronometro cronometro;
+            private long tempo;
+
+            @Override
+            public void preparar() {
+                if (cronometro == null) cronometro = new Cronometro(new Agendador(new GameClock(60)));
+            }
+
+            @Override
+            public long executar() {
+                tempo += 37;
+                return cronometro.getSkyColor(tempo).getRGB();
+            }
+        });
+
+        lista.add(new Benchmark("Mapa.render (offscreen)", 50) {
+            private Mapa mapa;
+            private BufferedImage tela;
+            private Graphics g;
+            private Cronometro cronometro;
+            private int i;
+
+            @Override
+            public void preparar() {
+                if (mapa == null) {
+                    mapa = new Mapa();
+                    cronometro = new Cronometro(new Agendador(new GameClock(60)));
+                    tela = new BufferedImage(LARGURA_TELA, ALTURA_TELA, BufferedImage.TYPE_INT_RGB);
+                    g = tela.createGraphics();
+                }
+            }
+
+            @Override
+            public long executar() {
+                i++;
+                mapa.render(g, i % 400, i % 300, LARGURA_TELA, ALTURA_TELA, cronometro.getSkyColor(i * 1000L));
+                return tela.getRGB(0, 0);
+            }
+        });
+
+        // Só o terreno, andando por todo o mapa para passar por pedaços diferentes
+        lista.add(new Benchmark("Mapa.renderTerreno (offscreen)", 200) {
+            private Mapa mapa;
+            private BufferedImage tela;
+            private Graphics g;
+            private int i;
+
+            @Override
+            public void preparar() {
+                if (mapa == null) {
+                    mapa = new Mapa();
+                    tela = new BufferedImage(LARGURA_TELA, ALTURA_TELA, BufferedImage.TYPE_INT_RGB);
+                    g = tela.createGraphics();
+                }
+            }
+
+            @Override
+            public long executar() {
+                i++;
+                int x = (i * 37) % (mapa.getLargura() - LARGURA_TELA);
+                int y = (i * 23) % (mapa.getAltura() - ALTURA_TELA);
+                mapa.renderTerreno(g, x, y, LARGURA_TELA, ALTURA_TELA);
+                return tela.getRGB(0, 0);
+            }
+        });
+
+        // 4000 sprites espalhados pelo mapa inteiro, só uma fração dentro da câmera
+        lista.add(new Benchmark("RenderSnapshot fila (4000 sprites no mapa)", 200) {
+            private RenderSnapshot snapshot;
+            private BufferedImage sprite;
+            private BufferedImage tela;
+            private Graphics g;
+            private int[] xs, ys;
+            private int i;
+
+            @Override
+            public void preparar() {
+                if (snapshot == null) {
+                    snapshot = new RenderSnapshot();
+                    sprite = new BufferedImage(18, 18, BufferedImage.TYPE_INT_ARGB);
+                    tela = new BufferedImage(LARGURA_TELA, ALTURA_TELA, BufferedImage.TYPE_INT_RGB);
+                    g = tela.createGraphics();
+                    Random random = new Random(4000);
+                    xs = new int[4000];
+                    ys = new int[4000];
+                    for (int k = 0; k < xs.length; k++) {
+                        xs[k] = random.nextInt(5000);
+                        ys[k] = random.nextInt(5000);
+                    }
+                }
+            }
+
+            @Override
+            public long executar() {
+                i++;
+                int camX = 1000 + (i & 255);
+                int camY = 1000;
+                snapshot.limpar(0, 0);
+                snapshot.setCamera(camX, camY, camX, camY);
+                snapshot.setViewport(LARGURA_TELA, ALTURA_TELA);
+                for (int k = 0; k < xs.length; k++) {
+                    snapshot.adicionarSprite(sprite, k & 3, xs[k], ys[k], xs[k], ys[k], 48, 48);
+                }
+                snapshot.desenharComandos(g, camX, camY, 1f);
+                return snapshot.getTotal();
+            }
+        });
+
+        for (boolean movendo : new boolean[] {true, false}) {
+            lista.add(new BenchmarkLuz("MapaLuz.desenhar (32 luzes" + (movendo ? ", movendo)" : ", paradas)"), movendo));
+        }
+
+        lista.add(new Benchmark("Player.render (offscreen)", 20_000) {
+            private Player player;
+            private BufferedImage tela;
+            private Graphics g;
+
+            @Override
+            public void preparar() {
+                if (player == null) {
+                    player = new Player(600, 500, new GameClock(60));
+                    tela = new BufferedImage(LARGURA_TELA, ALTURA_TELA, BufferedImage.TYPE_INT_RGB);
+                    g = tela.createGraphics();
+                }
+            }
+
+            @Override
+            public long executar() {
+                player.render(g, 0, 0);
+                return tela.getRGB(600, 500);
+            }
+        });
+
+        return lista;
+    }
+
+    private static ArrayList<Inimigo> espalhar(int n, FabricaInimigo fabrica, ArmazemInimigos armazem,
+                                               int centroX, int centroY) {
+        Random random = new Random(n);
+        ArrayList<Inimigo> inimigos = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            double angulo = random.nextDouble() * Math.PI * 2;
+            double raio = 60 + random.nextDouble() * 400;
+            inimigos.add(fabrica.criar(armazem,
+                centroX + (int) (Math.cos(angulo) * raio),
+                centroY + (int) (Math.sin(angulo) * raio)));
+        }
+        return inimigos;
+    }
+
+    private interface FabricaInimigo {
+        Inimigo criar(ArmazemInimigos armazem, int x, int y);
+    }
+
+    // Um tick de N inimigos perseguindo o jogador, atualizados um a um pelos objetos. Os
+    // inimigos são recriados a cada iteração, num armazém com relógio para os temporizadores
+    // correrem: o Creeper explode e o Slime pula dentro das 600 operações.
+    private static class BenchmarkInimigos extends Benchmark {
+        private final int quantidade;
+        private final FabricaInimigo fabrica;
+        private ArrayList<Inimigo> inimigos;
+        private ArmazemInimigos armazem;
+        private GameClock relogio;
+        private Player player;
+
+        BenchmarkInimigos(String nome, int quantidade, FabricaInimigo fabrica) {
+            super(nome, 600);
+            this.quantidade = quantidade;
+            this.fabrica = fabrica;
+        }
+
+        @Override
+        public void preparar() {
+            relogio = new GameClock(60);
+            player = new Player(600, 500, relogio);
+            armazem = new ArmazemInimigos(quantidade);
+            armazem.usarRelogio(relogio);
+            inimigos = espalhar(quantidade, fabrica, armazem, 600, 500);
+        }
+
+        @Override
+        public long executar() {
+            armazem.avancarTemporizadores();
+            long soma = 0;
+            for (int i = 0; i < inimigos.size(); i++) {
+                Inimigo inimigo = inimigos.get(i);
+                inimigo.update(player, DELTA);
+                soma += inimigo.getX();
+            }
+            armazem.registrarTemporizadores();
+            relogio.avancar();
+            return soma;
+        }
+
+        @Override
+        public void liberar() {
+            inimigos = null;
+            armazem = null;
+        }
+    }
+
+    // Mesmo tick de BenchmarkInimigos, com os três tipos misturados num único armazém
+    // e percorridos pelas colunas em vez de pelos objetos
+    private static class BenchmarkArmazem extends Benchmark {
+        private final int quantidade;
+        private ArmazemInimigos armazem;
+        private GameClock relogio;
+        private Player player;
+
+        BenchmarkArmazem(String nome, int quantidade) {
+            super(nome, 600);
+            this.quantidade = quantidade;
+        }
+
+        @Override
+        public void preparar() {
+            relogio = new GameClock(60);
+            player = new Player(600, 500, relogio);
+            armazem = new ArmazemInimigos(quantidade);
+            armazem.usarRelogio(relogio);
+            FabricaInimigo[] fabricas = {Creeper::new, Slime::new, Zumbi::new};
+            for (int t = 0; t < fabricas.length; t++) {
+                espalhar(quantidade / 3, fabricas[t], armazem, 600, 500);
+            }
+        }
+
+        @Override
+        public long executar() {
+            armazem.avancarTemporizadores();
+            armazem.atualizar(player, DELTA, 0, armazem.getTotal());
+            armazem.registrarTemporizadores();
+            long soma = 0;
+            for (int i = 0; i < armazem.getTotal(); i++) {
+                soma += armazem.getX(i);
+            }
+            relogio.avancar();
+            return soma;
+        }
+
+        @Override
+        public void liberar() {
+            armazem = null;
+        }
+    }
+
+    // Jogador atacando sem parar com N inimigos na lista, ou na grade espacial
+    private static class BenchmarkAtaque extends Benchmark {
+        private final int quantidade;
+        private final boolean usarGrade;
+        private ArrayList<Inimigo> inimigos;
+        private GradeEspacial grade;
+        private Player player;
+        private GameClock relogio;
+
+        BenchmarkAtaque(String nome, int quantidade, boolean usarGrade) {
+            super(nome, 2_000);
+            this.quantidade = quantidade;
+            this.usarGrade = usarGrade;
+        }
+
+        @Override
+        public void preparar() {
+            relogio = new GameClock(60);
+            player = new Player(600, 500, relogio);
+            inimigos = espalhar(quantidade, Zumbi::new, new ArmazemInimigos(quantidade), 600, 500);
+            grade = new GradeEspacial(LARGURA_TELA * 2, ALTURA_TELA * 2, 128, 128);
+            for (int i = 0; i < inimigos.size(); i++) {
+                grade.inserir(i, inimigos.get(i));
+            }
+        }
+
+        @Override
+        public long executar() {
+            if (!player.isAttacking()) {
+                player.handleMouseButton(java.awt.event.MouseEvent.BUTTON1);
+            }
+            if (usarGrade) {
+                player.update(grade);
+            } else {
+                player.update(inimigos);
+            }
+            relogio.avancar();
+            return player.getX();
+        }
+
+        @Override
+        public void liberar() {
+            inimigos = null;
+            grade = null;
+        }
+    }
+
+    // Noite com 32 luzes espalhadas pela tela. Paradas, a luz já esticada fica no cache e
+    // só resta copiá-lo; movendo, o buffer é refeito e esticado a cada frame.
+    private static class BenchmarkLuz extends Benchmark {
+        private final boolean movendo;
+        private MapaLuz mapaLuz;
+        private RenderSnapshot snapshot;
+        private BufferedImage tela;
+        private Graphics g;
+        private int i;
+
+        BenchmarkLuz(String nome, boolean movendo) {
+            super(nome, 500);
+            this.movendo = movendo;
+        }
+
+        @Override
+        public void preparar() {
+            if (mapaLuz == null) {
+                mapaLuz = new MapaLuz(LARGURA_TELA, ALTURA_TELA);
+                snapshot = new RenderSnapshot();
+                tela = new BufferedImage(LARGURA_TELA, ALTURA_TELA, BufferedImage.TYPE_INT_RGB);
+                g = tela.createGraphics();
+            }
+        }
+
+        @Override
+        public long executar() {
+            i++;
+            int deslocamento = movendo ? i % 64 : 0;
+            snapshot.limpar(0, 0);
+            snapshot.setCorCeu(new Color(0.15f, 0.1f, 0.3f, 0.8f));
+            for (int k = 0; k < 32; k++) {
+                int x = (k * 173) % LARGURA_TELA + deslocamento;
+                int y = (k * 311) % ALTURA_TELA;
+                snapshot.adicionarLuz(x, y, x, y, 120 + (k % 4) * 40, 1f);
+            }
+            mapaLuz.desenhar(g, snapshot, 0, 0, 1f);
+            return tela.getRGB(600, 500);
+        }
+    }
+
+    // Expõe os métodos protegidos de Inimigo para o benchmark
+    private static class InimigoExposto extends Zumbi {
+        InimigoExposto(int x, int y) {
+            super(new ArmazemInimigos(1), x, y);
+        }
+
+        double distancia(int alvoX, int alvoY) {
+            return calcularDistancia(alvoX, alvoY);
+        }
+
+        void mover(int alvoX, int alvoY) {
+            moverEmDirecao(alvoX, alvoY);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package minicraft.benchmark;
+
+import java.io.PrintWriter;
+
+// Aquecimento seguido de iterações medidas, no mesmo espírito do JMH (modo tempo médio).
+// Cada iteração chama preparar() fora do cronômetro, depois executar() N vezes e liberar().
+public class Executor {
+    private final int iteracoesAquecimento;
+    private final int iteracoesMedidas;
+    private long sumidouro;
+
+    public Executor(int iteracoesAquecimento, int iteracoesMedidas) {
+        this.iteracoesAquecimento = iteracoesAquecimento;
+        this.iteracoesMedidas = iteracoesMedidas;
+    }
+
+    public Resultado medir(Benchmark benchmark) {
+        for (int i = 0; i < iteracoesAquecimento; i++) {
+            iteracao(benchmark);
+        }
+
+        double[] nanosPorOp = new double[iteracoesMedidas];
+        for (int i = 0; i < iteracoesMedidas; i++) {
+            nanosPorOp[i] = iteracao(benchmark);
+        }
+        return new Resultado(benchmark.getNome(), nanosPorOp);
+    }
+
+    private double iteracao(Benchmark benchmark) {
+        benchmark.preparar();
+        int operacoes = benchmark.getOperacoesPorIteracao();
+        long acumulado = 0;
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < operacoes; i++) {
+            acumulado += benchmark.executar();
+        }
+        long fim = System.nanoTime();
+        benchmark.liberar();
+
+        sumidouro ^= acumulado;
+        return (double) (fim - inicio) / operacoes;
+    }
+
+    public long getSumidouro() { return sumidouro; }
+
+    public static class Resultado {
+        private final String nome;
+        private final double media;
+        private final double desvio;
+        private final double minimo;
+
+        Resultado(String nome, double[] amostras) {
+            this.nome = nome;
+            double soma = 0;
+            double min = Double.MAX_VALUE;
+            for (double a : amostras) {
+                soma += a;
+                min = Math.min(min, a);
+            }
+            this.media = soma / amostras.length;
+            double variancia = 0;
+            for (double a : amostras) {
+                variancia += (a - media) * (a - media);
+            }
+            this.desvio = amostras.length > 1 ? Math.sqrt(variancia / (amostras.length - 1)) : 0;
+            this.minimo = min;
+        }
+
+        public void imprimir(PrintWriter out) {
+            out.printf("%-40s %14.1f %12.1f %14.1f%n", nome, media, desvio, minimo);
+        }
+
+        public void imprimirCsv(PrintWriter out) {
+            out.printf(java.util.Locale.ROOT, "%s,%.1f,%.1f,%.1f%n", nome, media, desvio, minimo);
+        }
+
+        public String getNome() { return nome; }
+        public double getMedia() { return media; }
+        public double getDesvio() { return desvio; }
+        public double getMinimo() { return minimo; }
+    }
+}
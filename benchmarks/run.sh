@@ -0,0 +1,10 @@
+#!/bin/sh
+# Compila o jogo e os benchmarks com javac e roda tudo, sem dependências externas.
+# Uso: sh benchmarks/run.sh [filtro] [--csv resultado.csv]
+set -e
+cd "$(dirname "$0")/.."
+SAIDA=build/benchmarks
+rm -rf "$SAIDA"
+mkdir -p "$SAIDA"
+javac -encoding UTF-8 -d "$SAIDA" $(find minicraft benchmarks -name '*.java')
+java -Djava.awt.headless=true -cp "$SAIDA" minicraft.benchmark.Benchmarks "$@"
@@ -0,0 +1,117 @@
+package minicraft.core;
+
+import java.util.Arrays;
+
+// Tarefas atrasadas e repetidas no tempo da simulação, sem threads. O mundo chama
+// executar() uma vez por tick, na thread do jogo, e toda tarefa vencida roda ali mesmo;
+// assim quem é agendado pode mexer no próprio estado sem sincronização, e a mesma
+// sequência de ticks sempre dispara as mesmas tarefas na mesma ordem.
+public class Agendador {
+    private final GameClock relogio;
+
+    // Heap mínimo pelo tick de vencimento; empates saem na ordem em que foram agendados
+    private Tarefa[] heap = new Tarefa[16];
+    private int total = 0;
+    private long sequencia = 0;
+
+    public Agendador(GameClock relogio) {
+        this.relogio = relogio;
+    }
+
+    // Roda 'atrasoTicks' ticks depois do atual (no mínimo 1)
+    public Tarefa agendar(long atrasoTicks, Runnable acao) {
+        return inserir(new Tarefa(acao, 0), atrasoTicks);
+    }
+
+    // Roda a cada 'periodoTicks', começando 'atrasoTicks' depois do atual
+    public Tarefa agendarRepetindo(long atrasoTicks, long periodoTicks, Runnable acao) {
+        if (periodoTicks <= 0) throw new IllegalArgumentException("periodoTicks deve ser positivo");
+        return inserir(new Tarefa(acao, periodoTicks), atrasoTicks);
+    }
+
+    public long ticksPara(long millis) {
+        return Math.max(1, millis * relogio.getTicksPorSegundo() / 1000);
+    }
+
+    // Tudo o que venceu até o tick atual. O que as tarefas agendarem daqui vence no mínimo
+    // no tick seguinte, então fica para a próxima chamada
+    public void executar() {
+        long agora = relogio.getTick();
+        while (total > 0 && heap[0].prazo <= agora) {
+            Tarefa tarefa = removerTopo();
+            if (tarefa.cancelada) continue;
+            if (tarefa.periodo > 0) {
+                tarefa.prazo += tarefa.periodo;
+                tarefa.ordem = sequencia++;
+                adicionarNoHeap(tarefa);
+            }
+            tarefa.acao.run();
+        }
+    }
+
+    private Tarefa inserir(Tarefa tarefa, long atrasoTicks) {
+        tarefa.prazo = relogio.getTick() + Math.max(1, atrasoTicks);
+        tarefa.ordem = sequencia++;
+        adicionarNoHeap(tarefa);
+        return tarefa;
+    }
+
+    private void adicionarNoHeap(Tarefa tarefa) {
+        if (total == heap.length) heap = Arrays.copyOf(heap, total * 2);
+        int i = total++;
+        while (i > 0) {
+            int pai = (i - 1) >>> 1;
+            if (!antes(tarefa, heap[pai])) break;
+            heap[i] = heap[pai];
+            i = pai;
+        }
+        heap[i] = tarefa;
+    }
+
+    private Tarefa removerTopo() {
+        Tarefa topo = heap[0];
+        Tarefa ultima = heap[--total];
+        heap[total] = null;
+        if (total > 0) {
+            int i = 0;
+            while (true) {
+                int filho = 2 * i + 1;
+                if (filho >= total) break;
+                if (filho + 1 < total && antes(heap[filho + 1], heap[filho])) filho++;
+                if (!antes(heap[filho], ultima)) break;
+                heap[i] = heap[filho];
+                i = filho;
+            }
+            heap[i] = ultima;
+        }
+        return topo;
+    }
+
+    private static boolean antes(Tarefa a, Tarefa b) {
+        return a.prazo < b.prazo || (a.prazo == b.prazo && a.ordem < b.ordem);
+    }
+
+    public int getPendentes() { return total; }
+    public GameClock getRelogio() { return relogio; }
+
+    public static final class Tarefa {
+        private final Runnable acao;
+        private final long periodo;
+        private long prazo;
+        private long ordem;
+        private boolean cancelada;
+
+        private Tarefa(Runnable acao, long periodo) {
+            this.acao = acao;
+            this.periodo = periodo;
+        }
+
+        // A tarefa sai do heap na próxima vez que vencer, sem rodar
+        public void cancelar() {
+            cancelada = true;
+        }
+
+        public boolean estaCancelada() { return cancelada; }
+        public long getPrazo() { return prazo; }
+    }
+}
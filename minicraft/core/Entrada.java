@@ -0,0 +1,60 @@
+package minicraft.core;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Fila de eventos de entrada. A thread de eventos do AWT só enfileira; o loop do jogo
+// aplica tudo no início do tick, o que permite gravar cada evento com o número do tick
+// e reproduzi-lo depois exatamente no mesmo ponto da simulação.
+public class Entrada {
+    public static final byte TECLA_PRESSIONADA = 1;
+    public static final byte TECLA_SOLTA = 2;
+    public static final byte BOTAO_MOUSE = 3;
+
+    public interface Destino {
+        void aplicar(byte tipo, int codigo);
+    }
+
+    private final ConcurrentLinkedQueue<Integer> fila = new ConcurrentLinkedQueue<>();
+    private GravadorEntrada gravador;
+    private ReprodutorEntrada reprodutor;
+
+    public void enfileirar(byte tipo, int codigo) {
+        fila.add((tipo << 24) | (codigo & 0xFFFFFF));
+    }
+
+    public void processar(long tick, Destino destino) {
+        if (reprodutor != null) {
+            // Durante a reprodução a entrada ao vivo é ignorada
+            fila.clear();
+            reprodutor.aplicar(tick, destino);
+            return;
+        }
+
+        Integer evento;
+        while ((evento = fila.poll()) != null) {
+            byte tipo = (byte) (evento >>> 24);
+            int codigo = evento & 0xFFFFFF;
+            if (gravador != null) {
+                try {
+                    gravador.gravar(tick, tipo, codigo);
+                } catch (IOException e) {
+                    Log.erro(Log.Categoria.JOGO, "Erro ao gravar entrada, gravação interrompida: " + e.getMessage());
+                    gravador = null;
+                }
+            }
+            destino.aplicar(tipo, codigo);
+        }
+    }
+
+    public void setGravador(GravadorEntrada gravador) {
+        this.gravador = gravador;
+    }
+
+    public void setReprodutor(ReprodutorEntrada reprodutor) {
+        this.reprodutor = reprodutor;
+    }
+
+    public GravadorEntrada getGravador() { return gravador; }
+    public ReprodutorEntrada getReprodutor() { return reprodutor; }
+}
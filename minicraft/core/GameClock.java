@@ -0,0 +1,28 @@
+package minicraft.core;
+
+// Relógio da simulação: avança um tick fixo por vez e nunca consulta o relógio do sistema,
+// então a mesma sequência de ticks produz sempre os mesmos tempos.
+public class GameClock {
+    private final int ticksPorSegundo;
+    private final long nanosPorTick;
+    private final float deltaTime;
+    private long tick = 0;
+
+    public GameClock(int ticksPorSegundo) {
+        if (ticksPorSegundo <= 0) throw new IllegalArgumentException("ticksPorSegundo deve ser positivo");
+        this.ticksPorSegundo = ticksPorSegundo;
+        this.nanosPorTick = 1_000_000_000L / ticksPorSegundo;
+        this.deltaTime = 1.0f / ticksPorSegundo;
+    }
+
+    public void avancar() {
+        tick++;
+    }
+
+    public long getTick() { return tick; }
+    public long getTempoNanos() { return tick * nanosPorTick; }
+    public long getTempoMillis() { return tick * nanosPorTick / 1_000_000L; }
+    public float getDeltaTime() { return deltaTime; }
+    public long getNanosPorTick() { return nanosPorTick; }
+    public int getTicksPorSegundo() { return ticksPorSegundo; }
+}
@@ -0,0 +1,78 @@
+package minicraft.core;
+
+import java.util.concurrent.locks.LockSupport;
+
+public class GameLoop {
+    public interface Atualizacao {
+        void tick(float deltaTime);
+    }
+
+    public interface Renderizacao {
+        void render(float alpha);
+    }
+
+    private final int ticksPorSegundo;
+    private final long nanosPorTick;
+    private final float deltaTime;
+    private final int maxTicksPorFrame;
+    private volatile boolean running = false;
+    private long ticks = 0;
+
+    public GameLoop(int ticksPorSegundo, int maxTicksPorFrame) {
+        if (ticksPorSegundo <= 0) throw new IllegalArgumentException("ticksPorSegundo deve ser positivo");
+        if (maxTicksPorFrame <= 0) throw new IllegalArgumentException("maxTicksPorFrame deve ser positivo");
+        this.ticksPorSegundo = ticksPorSegundo;
+        this.nanosPorTick = 1_000_000_000L / ticksPorSegundo;
+        this.deltaTime = 1.0f / ticksPorSegundo;
+        this.maxTicksPorFrame = maxTicksPorFrame;
+    }
+
+    // Com renderizacao nula o loop só roda ticks e dorme até o próximo
+    public void run(Atualizacao atualizacao, Renderizacao renderizacao) {
+        running = true;
+        long anterior = System.nanoTime();
+        long acumulado = 0;
+        // Limita o tempo absorvido por frame para não entrar em espiral de atraso
+        long maxAcumulado = nanosPorTick * maxTicksPorFrame;
+
+        while (running) {
+            long agora = System.nanoTime();
+            long decorrido = agora - anterior;
+            anterior = agora;
+            acumulado += Math.min(decorrido, maxAcumulado);
+
+            // Passo fixo: roda quantos ticks couberem, pulando renders quando atrasado
+            int ticksNoFrame = 0;
+            while (acumulado >= nanosPorTick && ticksNoFrame < maxTicksPorFrame) {
+                atualizacao.tick(deltaTime);
+                acumulado -= nanosPorTick;
+                ticks++;
+                ticksNoFrame++;
+            }
+
+            // Ainda atrasado depois do limite de catch-up: descarta o excedente
+            if (acumulado >= nanosPorTick) {
+                acumulado %= nanosPorTick;
+            }
+
+            if (renderizacao != null) {
+                renderizacao.render((float) acumulado / nanosPorTick);
+                if (ticksNoFrame == 0) {
+                    Thread.yield();
+                }
+            } else {
+                LockSupport.parkNanos(nanosPorTick - acumulado);
+            }
+        }
+    }
+
+    public void parar() {
+        running = false;
+    }
+
+    public boolean isRunning() { return running; }
+    public int getTicksPorSegundo() { return ticksPorSegundo; }
+    public long getNanosPorTick() { return nanosPorTick; }
+    public float getDeltaTime() { return deltaTime; }
+    public long getTicks() { return ticks; }
+}
@@ -0,0 +1,53 @@
+package minicraft.core;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+// Grava eventos de entrada em binário compacto:
+//   cabeçalho: MAGICO (int), VERSAO (byte), ticks por segundo (int), seed do mundo (long)
+//   evento:    delta de tick (varint), tipo (byte), código (varint)
+//   fim:       delta até o último tick (varint), FIM (byte)
+public class GravadorEntrada {
+    public static final int MAGICO = 0x4D43454E; // "MCEN"
+    public static final byte VERSAO = 2;
+    public static final byte FIM = (byte) 0xFF;
+
+    private final DataOutputStream out;
+    private long ultimoTick = 0;
+    private boolean fechado = false;
+
+    public GravadorEntrada(String caminho, int ticksPorSegundo, long seed) throws IOException {
+        out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(caminho)));
+        out.writeInt(MAGICO);
+        out.writeByte(VERSAO);
+        out.writeInt(ticksPorSegundo);
+        out.writeLong(seed);
+    }
+
+    public synchronized void gravar(long tick, byte tipo, int codigo) throws IOException {
+        if (fechado) return;
+        escreverVarint(tick - ultimoTick);
+        out.writeByte(tipo);
+        escreverVarint(codigo);
+        ultimoTick = tick;
+    }
+
+    // Marca o tick final da sessão, para a reprodução saber quando parar
+    public synchronized void fechar(long tickFinal) throws IOException {
+        if (fechado) return;
+        escreverVarint(Math.max(0, tickFinal - ultimoTick));
+        out.writeByte(FIM);
+        out.close();
+        fechado = true;
+    }
+
+    private void escreverVarint(long valor) throws IOException {
+        while ((valor & ~0x7FL) != 0) {
+            out.writeByte((int) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        out.writeByte((int) valor);
+    }
+}
@@ -0,0 +1,62 @@
+package minicraft.core;
+
+// Histograma de tamanho fixo para durações em nanossegundos. Cada potência de 2
+// é dividida em SUB faixas, o que dá erro relativo de no máximo 1/SUB nos percentis.
+// Deve ser escrito por uma única thread; leituras de outras threads são aproximadas.
+public class Histograma {
+    private static final int SUB_BITS = 3;
+    private static final int SUB = 1 << SUB_BITS;
+    private static final int TOTAL_FAIXAS = (64 - SUB_BITS + 1) * SUB;
+
+    private final long[] contagens = new long[TOTAL_FAIXAS];
+    private long amostras;
+    private long soma;
+    private long maximo;
+
+    public void registrar(long nanos) {
+        if (nanos < 0) nanos = 0;
+        contagens[indice(nanos)]++;
+        amostras++;
+        soma += nanos;
+        if (nanos > maximo) maximo = nanos;
+    }
+
+    public long percentil(double p) {
+        if (amostras == 0) return 0;
+        long alvo = Math.max(1, (long) Math.ceil(p * amostras));
+        long acumulado = 0;
+        for (int i = 0; i < TOTAL_FAIXAS; i++) {
+            acumulado += contagens[i];
+            if (acumulado >= alvo) {
+                return Math.min(limiteSuperior(i), maximo);
+            }
+        }
+        return maximo;
+    }
+
+    public void limpar() {
+        java.util.Arrays.fill(contagens, 0);
+        amostras = 0;
+        soma = 0;
+        maximo = 0;
+    }
+
+    private static int indice(long valor) {
+        if (valor < SUB) return (int) valor;
+        int expoente = 63 - Long.numberOfLeadingZeros(valor);
+        int sub = (int) (valor >>> (expoente - SUB_BITS)) & (SUB - 1);
+        return (expoente - SUB_BITS + 1) * SUB + sub;
+    }
+
+    private static long limiteSuperior(int indice) {
+        if (indice < SUB) return indice;
+        int expoente = indice / SUB + SUB_BITS - 1;
+        long sub = indice % SUB;
+        long largura = 1L << (expoente - SUB_BITS);
+        return (1L << expoente) + sub * largura + largura - 1;
+    }
+
+    public long getAmostras() { return amostras; }
+    public long getMaximo() { return maximo; }
+    public long getMedia() { return amostras == 0 ? 0 : soma / amostras; }
+}
@@ -0,0 +1,162 @@
+package minicraft.core;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+// Log assíncrono com níveis e categorias. As mensagens vão para um anel sem lock
+// e uma thread de fundo escreve na saída, então o loop do jogo nunca espera o stdout.
+// Quem chama deve testar ativo() antes de montar a string:
+//     if (Log.ativo(Categoria.INIMIGOS, Nivel.DEBUG)) Log.debug(Categoria.INIMIGOS, "x=" + x);
+// Configuração: -Dminicraft.log=INFO (padrão) e -Dminicraft.log.INIMIGOS=DEBUG por categoria.
+public final class Log {
+    public enum Nivel {
+        DEBUG, INFO, AVISO, ERRO, DESLIGADO
+    }
+
+    public enum Categoria {
+        JOGO, JOGADOR, INIMIGOS, MAPA, GRAFICOS
+    }
+
+    private static final int CAPACIDADE = 1 << 14;
+    private static final int MASCARA = CAPACIDADE - 1;
+
+    private static final int[] nivelMinimo = new int[Categoria.values().length];
+
+    // Fila limitada multi-produtor: cada posição tem um número de sequência que diz
+    // se ela está livre para o produtor (seq == pos) ou pronta para o consumidor (seq == pos + 1)
+    private static final AtomicLongArray sequencias = new AtomicLongArray(CAPACIDADE);
+    private static final String[] mensagens = new String[CAPACIDADE];
+    private static final byte[] niveis = new byte[CAPACIDADE];
+    private static final byte[] categorias = new byte[CAPACIDADE];
+    private static final AtomicLong cauda = new AtomicLong();
+    private static final AtomicLong descartadas = new AtomicLong();
+    private static long cabeca = 0;
+
+    private static volatile PrintStream saida = System.out;
+    private static volatile Thread escritor;
+
+    static {
+        for (int i = 0; i < CAPACIDADE; i++) {
+            sequencias.set(i, i);
+        }
+
+        Nivel padrao = lerNivel("minicraft.log", Nivel.INFO);
+        for (Categoria categoria : Categoria.values()) {
+            nivelMinimo[categoria.ordinal()] = lerNivel("minicraft.log." + categoria, padrao).ordinal();
+        }
+
+        Runtime.getRuntime().addShutdownHook(new Thread(Log::esvaziar, "Log-shutdown"));
+    }
+
+    private Log() {
+    }
+
+    public static boolean ativo(Categoria categoria, Nivel nivel) {
+        return nivel.ordinal() >= nivelMinimo[categoria.ordinal()];
+    }
+
+    public static void setNivel(Categoria categoria, Nivel nivel) {
+        nivelMinimo[categoria.ordinal()] = nivel.ordinal();
+    }
+
+    public static void setSaida(PrintStream novaSaida) {
+        saida = novaSaida;
+    }
+
+    public static void debug(Categoria categoria, String mensagem) { registrar(Nivel.DEBUG, categoria, mensagem); }
+    public static void info(Categoria categoria, String mensagem) { registrar(Nivel.INFO, categoria, mensagem); }
+    public static void aviso(Categoria categoria, String mensagem) { registrar(Nivel.AVISO, categoria, mensagem); }
+    public static void erro(Categoria categoria, String mensagem) { registrar(Nivel.ERRO, categoria, mensagem); }
+
+    public static void registrar(Nivel nivel, Categoria categoria, String mensagem) {
+        if (!ativo(categoria, nivel)) return;
+        iniciarEscritor();
+
+        long posicao = cauda.get();
+        while (true) {
+            int indice = (int) (posicao & MASCARA);
+            long diferenca = sequencias.get(indice) - posicao;
+            if (diferenca == 0) {
+                if (cauda.compareAndSet(posicao, posicao + 1)) {
+                    mensagens[indice] = mensagem;
+                    niveis[indice] = (byte) nivel.ordinal();
+                    categorias[indice] = (byte) categoria.ordinal();
+                    sequencias.set(indice, posicao + 1);
+                    return;
+                }
+                posicao = cauda.get();
+            } else if (diferenca < 0) {
+                // Anel cheio: descarta em vez de bloquear o loop do jogo
+                descartadas.incrementAndGet();
+                return;
+            } else {
+                posicao = cauda.get();
+            }
+        }
+    }
+
+    public static long getDescartadas() {
+        return descartadas.get();
+    }
+
+    private static void iniciarEscritor() {
+        if (escritor != null) return;
+        synchronized (Log.class) {
+            if (escritor != null) return;
+            Thread thread = new Thread(Log::escrever, "Log");
+            thread.setDaemon(true);
+            thread.start();
+            escritor = thread;
+        }
+    }
+
+    private static void escrever() {
+        while (true) {
+            if (esvaziar() == 0) {
+                LockSupport.parkNanos(2_000_000L);
+            }
+        }
+    }
+
+    // Consome tudo o que estiver pronto no anel. Só um consumidor por vez.
+    private static synchronized int esvaziar() {
+        Nivel[] todosNiveis = Nivel.values();
+        Categoria[] todasCategorias = Categoria.values();
+        PrintStream out = saida;
+        int escritas = 0;
+
+        while (true) {
+            int indice = (int) (cabeca & MASCARA);
+            if (sequencias.get(indice) != cabeca + 1) break;
+
+            String mensagem = mensagens[indice];
+            Nivel nivel = todosNiveis[niveis[indice]];
+            Categoria categoria = todasCategorias[categorias[indice]];
+            mensagens[indice] = null;
+            sequencias.set(indice, cabeca + CAPACIDADE);
+            cabeca++;
+
+            out.println("[" + nivel + "] [" + categoria + "] " + mensagem);
+            escritas++;
+        }
+
+        long perdidas = descartadas.getAndSet(0);
+        if (perdidas > 0) {
+            out.println("[AVISO] [JOGO] " + perdidas + " mensagens de log descartadas (anel cheio)");
+        }
+        if (escritas > 0) out.flush();
+        return escritas;
+    }
+
+    private static Nivel lerNivel(String propriedade, Nivel padrao) {
+        String valor = System.getProperty(propriedade);
+        if (valor == null) return padrao;
+        try {
+            return Nivel.valueOf(valor.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return padrao;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package minicraft.core;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.EnumMap;
+
+// Tempos por fase do frame. As fases do tick são gravadas pela thread do jogo
+// e as de desenho pela thread de render, cada histograma por uma só thread.
+public class Profiler {
+    public enum Fase {
+        TICK, JOGADOR, CAMERA, IA, CAPTURA, FRAME, MAPA, CEU, ENTIDADES
+    }
+
+    private final EnumMap<Fase, Histograma> histogramas = new EnumMap<>(Fase.class);
+    private volatile boolean ativo = true;
+    private volatile boolean overlayVisivel = false;
+    private final Font fonte = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+    private final Color fundoOverlay = new Color(0, 0, 0, 170);
+
+    public Profiler() {
+        for (Fase fase : Fase.values()) {
+            histogramas.put(fase, new Histograma());
+        }
+    }
+
+    public long inicio() {
+        return ativo ? System.nanoTime() : 0;
+    }
+
+    public void registrar(Fase fase, long inicio) {
+        if (ativo) {
+            histogramas.get(fase).registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    public void renderOverlay(Graphics g, int x, int y) {
+        if (!overlayVisivel) return;
+
+        Fase[] fases = Fase.values();
+        int alturaLinha = 14;
+        g.setColor(fundoOverlay);
+        g.fillRect(x, y, 330, (fases.length + 1) * alturaLinha + 8);
+
+        g.setFont(fonte);
+        g.setColor(Color.WHITE);
+        int linha = y + alturaLinha;
+        g.drawString(String.format("%-10s %8s %8s %8s", "fase (us)", "p50", "p99", "max"), x + 6, linha);
+        for (Fase fase : fases) {
+            Histograma h = histogramas.get(fase);
+            linha += alturaLinha;
+            g.drawString(String.format("%-10s %8.1f %8.1f %8.1f", fase,
+                h.percentil(0.50) / 1000.0, h.percentil(0.99) / 1000.0, h.getMaximo() / 1000.0), x + 6, linha);
+        }
+    }
+
+    public void exportarCsv(String caminho) throws IOException {
+        try (PrintWriter out = new PrintWriter(new FileWriter(caminho))) {
+            out.println("fase,amostras,p50_ns,p99_ns,max_ns,media_ns");
+            for (Fase fase : Fase.values()) {
+                Histograma h = histogramas.get(fase);
+                out.println(fase + "," + h.getAmostras() + "," + h.percentil(0.50) + ","
+                    + h.percentil(0.99) + "," + h.getMaximo() + "," + h.getMedia());
+            }
+        }
+    }
+
+    public void alternarOverlay() {
+        overlayVisivel = !overlayVisivel;
+    }
+
+    public Histograma getHistograma(Fase fase) { return histogramas.get(fase); }
+    public boolean isAtivo() { return ativo; }
+    public void setAtivo(boolean ativo) { this.ativo = ativo; }
+}
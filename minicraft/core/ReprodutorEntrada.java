@@ -0,0 +1,76 @@
+package minicraft.core;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+// Lê um arquivo de GravadorEntrada e devolve os eventos no tick em que foram gravados
+public class ReprodutorEntrada {
+    private final DataInputStream in;
+    private final int ticksPorSegundo;
+    private final long seed;
+    private long proximoTick;
+    private byte proximoTipo;
+    private int proximoCodigo;
+    private boolean terminou = false;
+
+    public ReprodutorEntrada(String caminho) throws IOException {
+        in = new DataInputStream(new BufferedInputStream(new FileInputStream(caminho)));
+        if (in.readInt() != GravadorEntrada.MAGICO) {
+            in.close();
+            throw new IOException("Arquivo não é uma gravação de entrada: " + caminho);
+        }
+        byte versao = in.readByte();
+        if (versao != GravadorEntrada.VERSAO) {
+            in.close();
+            throw new IOException("Versão de gravação não suportada: " + versao);
+        }
+        ticksPorSegundo = in.readInt();
+        seed = in.readLong();
+        lerProximo();
+    }
+
+    public void aplicar(long tick, Entrada.Destino destino) {
+        while (!terminou && proximoTipo != GravadorEntrada.FIM && proximoTick <= tick) {
+            destino.aplicar(proximoTipo, proximoCodigo);
+            lerProximo();
+        }
+    }
+
+    // Verdadeiro depois que a simulação alcança o último tick gravado
+    public boolean terminou(long tick) {
+        return terminou || (proximoTipo == GravadorEntrada.FIM && tick >= proximoTick);
+    }
+
+    public int getTicksPorSegundo() { return ticksPorSegundo; }
+    public long getSeed() { return seed; }
+
+    private void lerProximo() {
+        try {
+            proximoTick += lerVarint();
+            proximoTipo = in.readByte();
+            if (proximoTipo == GravadorEntrada.FIM) {
+                in.close();
+                return;
+            }
+            proximoCodigo = (int) lerVarint();
+        } catch (IOException e) {
+            // Gravação truncada (jogo fechado sem finalizar): reproduz até onde houver
+            Log.aviso(Log.Categoria.JOGO, "Gravação de entrada terminou sem marcador de fim");
+            terminou = true;
+        }
+    }
+
+    private long lerVarint() throws IOException {
+        long valor = 0;
+        int deslocamento = 0;
+        while (true) {
+            int b = in.readUnsignedByte();
+            valor |= (long) (b & 0x7F) << deslocamento;
+            if ((b & 0x80) == 0) return valor;
+            deslocamento += 7;
+            if (deslocamento > 63) throw new IOException("Varint inválido");
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package minicraft.core;
+
+import java.util.Arrays;
+
+// Roda de temporizadores hierárquica: "dispare no tick T" para muitas entidades sem que
+// cada uma precise somar tempo a cada tick. São NIVEIS rodas de 64 posições; a de baixo
+// resolve um tick por posição e cada uma acima cobre 64 vezes mais. Um temporizador entra
+// na roda mais baixa que o alcança e desce de roda em roda conforme o tempo passa, então
+// o custo por tick é o dos temporizadores que vencem (mais uma descida a cada 64 ticks),
+// e não o de todos os pendentes.
+//
+// Os nós ficam em arrays paralelos reaproveitados por uma lista livre: agendar e cancelar
+// não alocam. Não é thread-safe; quem agenda de dentro de uma fase paralela deve guardar
+// o pedido e registrar depois, na thread do jogo.
+public class RodaTemporizadores {
+    public interface Disparo {
+        void disparar(int alvo, int tipo);
+    }
+
+    private static final int BITS = 6;
+    private static final int POSICOES = 1 << BITS;
+    private static final int MASCARA = POSICOES - 1;
+    private static final int NIVEIS = 4;
+    // 2^24 ticks: mais de 77 horas de jogo a 60 ticks por segundo
+    private static final long ALCANCE = 1L << (BITS * NIVEIS);
+
+    private static final int BITS_NO = 20;
+    private static final int MASCARA_NO = (1 << BITS_NO) - 1;
+    private static final int MASCARA_GERACAO = (1 << (31 - BITS_NO)) - 1;
+    private static final int NENHUM = -1;
+
+    private final Disparo disparo;
+    // Cabeça da lista de cada posição de cada nível
+    private final int[] cabecas = new int[NIVEIS * POSICOES];
+    private long atual;
+
+    private long[] prazo;
+    private int[] alvo;
+    private byte[] tipo;
+    private int[] proximo, anterior;
+    private int[] geracao;
+    // Posição em 'cabecas' onde o nó está, ou NENHUM se está livre
+    private int[] balde;
+    private int livre = NENHUM;
+    private int usados = 0;
+    private int pendentes = 0;
+
+    // 'tickAtual' já conta como processado; o primeiro prazo aceito é tickAtual + 1
+    public RodaTemporizadores(long tickAtual, Disparo disparo) {
+        this.atual = tickAtual;
+        this.disparo = disparo;
+        Arrays.fill(cabecas, NENHUM);
+        alocar(64);
+    }
+
+    // Devolve uma alça para cancelar; nunca é 0
+    public int agendar(long prazoTick, int alvoDisparo, int tipoDisparo) {
+        if (prazoTick <= atual) {
+            throw new IllegalArgumentException("prazo " + prazoTick + " já passou (tick atual " + atual + ")");
+        }
+        if (prazoTick - atual >= ALCANCE) {
+            throw new IllegalArgumentException("prazo " + prazoTick + " além do alcance da roda");
+        }
+        int no = novoNo();
+        prazo[no] = prazoTick;
+        alvo[no] = alvoDisparo;
+        tipo[no] = (byte) tipoDisparo;
+        inserir(no);
+        pendentes++;
+        return (geracao[no] << BITS_NO) | no;
+    }
+
+    // Falso se a alça já disparou ou foi cancelada
+    public boolean cancelar(int alca) {
+        int no = alca & MASCARA_NO;
+        if (no >= usados || balde[no] == NENHUM || geracao[no] != (alca >>> BITS_NO)) return false;
+        remover(no);
+        liberar(no);
+        pendentes--;
+        return true;
+    }
+
+    // Dispara, em ordem de prazo, tudo o que vence até 'tick' inclusive
+    public void avancar(long tick) {
+        while (atual < tick) {
+            atual++;
+            if ((atual & MASCARA) == 0) descer();
+
+            // Um de cada vez pela cabeça: quem é disparado pode cancelar os próximos da mesma
+            // posição, e o que agendar tem prazo depois de 'atual', então cai em outra
+            int posicao = (int) (atual & MASCARA);
+            int no;
+            while ((no = cabecas[posicao]) != NENHUM) {
+                int alvoNo = alvo[no];
+                int tipoNo = tipo[no];
+                remover(no);
+                liberar(no);
+                pendentes--;
+                disparo.disparar(alvoNo, tipoNo);
+            }
+        }
+    }
+
+    // Ao virar um bloco de 64 ticks, traz para baixo a posição da roda de cima que começa agora
+    // (e, em cascata, as das rodas acima que também viraram)
+    private void descer() {
+        int nivel = 1;
+        long t = atual >> BITS;
+        while (nivel < NIVEIS - 1 && (t & MASCARA) == 0) {
+            nivel++;
+            t >>= BITS;
+        }
+        for (int n = nivel; n >= 1; n--) {
+            int posicao = n * POSICOES + (int) ((atual >> (BITS * n)) & MASCARA);
+            int no = cabecas[posicao];
+            cabecas[posicao] = NENHUM;
+            while (no != NENHUM) {
+                int seguinte = proximo[no];
+                inserir(no);
+                no = seguinte;
+            }
+        }
+    }
+
+    // Nível mais baixo cujo bloco atual contém o prazo
+    private void inserir(int no) {
+        long p = prazo[no];
+        int nivel = 0;
+        while (nivel < NIVEIS - 1 && (p >> (BITS * (nivel + 1))) != (atual >> (BITS * (nivel + 1)))) {
+            nivel++;
+        }
+        int posicao = nivel * POSICOES + (int) ((p >> (BITS * nivel)) & MASCARA);
+        int cabeca = cabecas[posicao];
+        proximo[no] = cabeca;
+        anterior[no] = NENHUM;
+        if (cabeca != NENHUM) anterior[cabeca] = no;
+        cabecas[posicao] = no;
+        balde[no] = posicao;
+    }
+
+    private void remover(int no) {
+        int antes = anterior[no];
+        int depois = proximo[no];
+        if (antes != NENHUM) proximo[antes] = depois;
+        else cabecas[balde[no]] = depois;
+        if (depois != NENHUM) anterior[depois] = antes;
+        balde[no] = NENHUM;
+    }
+
+    private int novoNo() {
+        if (livre != NENHUM) {
+            int no = livre;
+            livre = proximo[no];
+            return no;
+        }
+        if (usados == prazo.length) {
+            if (usados > MASCARA_NO) throw new IllegalStateException("temporizadores demais: " + usados);
+            alocar(Math.min(usados * 2, MASCARA_NO + 1));
+        }
+        int no = usados++;
+        geracao[no] = 1;
+        return no;
+    }
+
+    // A geração muda a cada reuso, para alças antigas não cancelarem o temporizador de outro
+    private void liberar(int no) {
+        geracao[no] = (geracao[no] + 1) & MASCARA_GERACAO;
+        if (geracao[no] == 0) geracao[no] = 1;
+        proximo[no] = livre;
+        livre = no;
+    }
+
+    private void alocar(int capacidade) {
+        prazo = prazo == null ? new long[capacidade] : Arrays.copyOf(prazo, capacidade);
+        alvo = alvo == null ? new int[capacidade] : Arrays.copyOf(alvo, capacidade);
+        tipo = tipo == null ? new byte[capacidade] : Arrays.copyOf(tipo, capacidade);
+        proximo = proximo == null ? new int[capacidade] : Arrays.copyOf(proximo, capacidade);
+        anterior = anterior == null ? new int[capacidade] : Arrays.copyOf(anterior, capacidade);
+        geracao = geracao == null ? new int[capacidade] : Arrays.copyOf(geracao, capacidade);
+        balde = balde == null ? new int[capacidade] : Arrays.copyOf(balde, capacidade);
+    }
+
+    public long getTickAtual() { return atual; }
+    public int getPendentes() { return pendentes; }
+}
@@ -0,0 +1,154 @@
+package minicraft.graphics;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import javax.imageio.ImageIO;
+
+import minicraft.core.Log;
+import minicraft.core.Log.Categoria;
+import minicraft.core.Log.Nivel;
+
+// Cache do processo inteiro para imagens do disco. Cada sheet é lida uma vez e cada
+// conjunto de animações é fatiado, validado e espelhado uma vez; depois disso criar uma
+// entidade é só uma consulta no mapa, sem I/O nem cópia de imagem.
+public final class AssetManager {
+    // Cada imagem é decodificada por quem pediu primeiro; quem chegar durante a leitura
+    // espera a mesma tarefa em vez de ler o arquivo de novo
+    private static final ConcurrentHashMap<String, FutureTask<BufferedImage>> imagens = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, SpriteSheet> sheets = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, ConjuntoAnimacoes> animacoes = new ConcurrentHashMap<>();
+    private static final AtomicInteger proximoLote = new AtomicInteger();
+    private static volatile GraphicsConfiguration configuracaoTela;
+
+    private AssetManager() {
+    }
+
+    public static SpriteSheet getSheet(String caminho, int larguraSprite, int alturaSprite) {
+        return sheets.computeIfAbsent(caminho + "#" + larguraSprite + "x" + alturaSprite, chave -> {
+            SpriteSheet sheet = new SpriteSheet(getImagem(caminho), larguraSprite, alturaSprite);
+            if (Log.ativo(Categoria.GRAFICOS, Nivel.DEBUG)) Log.debug(Categoria.GRAFICOS, "Sheet carregada: " + caminho);
+            return sheet;
+        });
+    }
+
+    public static BufferedImage getImagem(String caminho) {
+        FutureTask<BufferedImage> tarefa = imagens.get(caminho);
+        if (tarefa == null) {
+            FutureTask<BufferedImage> nova = new FutureTask<>(() -> ler(caminho));
+            tarefa = imagens.putIfAbsent(caminho, nova);
+            if (tarefa == null) {
+                tarefa = nova;
+                nova.run();
+            }
+        }
+        try {
+            return tarefa.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido carregando " + caminho, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha ao carregar " + caminho, e.getCause());
+        }
+    }
+
+    public static boolean estaCarregada(String caminho) {
+        FutureTask<BufferedImage> tarefa = imagens.get(caminho);
+        return tarefa != null && tarefa.isDone();
+    }
+
+    // O ImageIO devolve PNGs como 3BYTE_BGR/4BYTE_ABGR ou indexados, que o Java2D desenha
+    // pelos laços lentos de conversão; aqui já saem no formato da tela
+    private static BufferedImage ler(String caminho) throws IOException {
+        BufferedImage imagem = ImageIO.read(new File(caminho));
+        if (imagem == null) {
+            throw new IOException("formato de imagem não reconhecido");
+        }
+        return converter(imagem);
+    }
+
+    public static BufferedImage converter(BufferedImage imagem) {
+        BufferedImage compativel = criarImagem(imagem.getWidth(), imagem.getHeight(), imagem.getTransparency());
+        if (compativel.getType() == imagem.getType() && compativel.getColorModel().equals(imagem.getColorModel())) {
+            return imagem;
+        }
+        Graphics2D g2d = compativel.createGraphics();
+        g2d.drawImage(imagem, 0, 0, null);
+        g2d.dispose();
+        return compativel;
+    }
+
+    // Imagem vazia no formato da tela; sem tela (headless) usa os formatos inteiros do Java2D
+    public static BufferedImage criarImagem(int largura, int altura, int transparencia) {
+        GraphicsConfiguration gc = getConfiguracaoTela();
+        if (gc != null) {
+            return gc.createCompatibleImage(largura, altura, transparencia);
+        }
+        return new BufferedImage(largura, altura,
+            transparencia == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+    }
+
+    private static GraphicsConfiguration getConfiguracaoTela() {
+        if (GraphicsEnvironment.isHeadless()) return null;
+        GraphicsConfiguration gc = configuracaoTela;
+        if (gc == null) {
+            gc = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+            configuracaoTela = gc;
+        }
+        return gc;
+    }
+
+    // 'fatiar' monta [estado][quadro] olhando para a direita a partir da sheet; só roda na
+    // primeira vez que a chave é pedida. 'segundosPorQuadro' tem uma duração por estado.
+    public static ConjuntoAnimacoes getAnimacoes(String chave, String caminho, int larguraSprite, int alturaSprite,
+                                                 Function<SpriteSheet, BufferedImage[][]> fatiar, float[] segundosPorQuadro) {
+        ConjuntoAnimacoes conjunto = animacoes.get(chave);
+        if (conjunto != null) return conjunto;
+
+        SpriteSheet sheet = getSheet(caminho, larguraSprite, alturaSprite);
+        return animacoes.computeIfAbsent(chave, k -> {
+            BufferedImage[][] quadros = fatiar.apply(sheet);
+            validar(k, quadros, larguraSprite, alturaSprite);
+            if (segundosPorQuadro.length != quadros.length) {
+                throw new IllegalStateException("Animações '" + k + "': " + quadros.length + " estados e "
+                    + segundosPorQuadro.length + " durações");
+            }
+            BufferedImage[][][] espelhadas = SpriteSheet.comEspelhadas(quadros);
+            ClipeAnimacao[] clipes = new ClipeAnimacao[quadros.length];
+            for (int e = 0; e < clipes.length; e++) {
+                clipes[e] = new ClipeAnimacao(espelhadas[SpriteSheet.DIREITA][e], espelhadas[SpriteSheet.ESQUERDA][e],
+                    ClipeAnimacao.uniforme(quadros[e].length, segundosPorQuadro[e]));
+            }
+            return new ConjuntoAnimacoes(clipes, proximoLote.incrementAndGet());
+        });
+    }
+
+    private static void validar(String chave, BufferedImage[][] quadros, int largura, int altura) {
+        if (quadros == null || quadros.length == 0) {
+            throw new IllegalStateException("Animações '" + chave + "' sem estados");
+        }
+        for (int e = 0; e < quadros.length; e++) {
+            if (quadros[e] == null || quadros[e].length == 0) {
+                throw new IllegalStateException("Animações '" + chave + "': estado " + e + " sem quadros");
+            }
+            for (BufferedImage quadro : quadros[e]) {
+                if (quadro == null || quadro.getWidth() != largura || quadro.getHeight() != altura) {
+                    throw new IllegalStateException("Animações '" + chave + "': quadro inválido no estado " + e);
+                }
+            }
+        }
+    }
+
+    public static int getTotalImagens() { return imagens.size(); }
+    public static int getTotalSheets() { return sheets.size(); }
+    public static int getTotalAnimacoes() { return animacoes.size(); }
+}
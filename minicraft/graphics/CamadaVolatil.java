@@ -0,0 +1,80 @@
+package minicraft.graphics;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+
+// Cópia de uma região estática de uma imagem numa VolatileImage, para o Java2D poder
+// desenhá-la pelo pipeline acelerado. A VolatileImage pode perder o conteúdo a qualquer
+// momento (troca de modo de vídeo, janela minimizada etc.), então cada desenho revalida
+// e copia a região de novo quando preciso.
+public class CamadaVolatil {
+    private final BufferedImage origem;
+    private final int origemX, origemY, largura, altura;
+    // Tamanho da cópia; maior que a região quando ela é esticada
+    private final int larguraDestino, alturaDestino;
+    private final boolean suave;
+    private VolatileImage imagem;
+    private boolean desatualizada;
+
+    public CamadaVolatil(BufferedImage origem, int origemX, int origemY, int largura, int altura) {
+        this(origem, origemX, origemY, largura, altura, 1, false);
+    }
+
+    // A região esticada 'escala' vezes, com filtro bilinear se 'suave'
+    public CamadaVolatil(BufferedImage origem, int origemX, int origemY, int largura, int altura,
+                         int escala, boolean suave) {
+        this.origem = origem;
+        this.origemX = origemX;
+        this.origemY = origemY;
+        this.largura = largura;
+        this.altura = altura;
+        this.larguraDestino = largura * escala;
+        this.alturaDestino = altura * escala;
+        this.suave = suave;
+    }
+
+    public void desenhar(Graphics2D g, int destinoX, int destinoY) {
+        GraphicsConfiguration gc = g.getDeviceConfiguration();
+        do {
+            int estado = imagem == null ? VolatileImage.IMAGE_INCOMPATIBLE : imagem.validate(gc);
+            if (estado == VolatileImage.IMAGE_INCOMPATIBLE) {
+                if (imagem != null) imagem.flush();
+                imagem = gc.createCompatibleVolatileImage(larguraDestino, alturaDestino, origem.getTransparency());
+                preencher();
+            } else if (estado == VolatileImage.IMAGE_RESTORED || desatualizada) {
+                preencher();
+            }
+            g.drawImage(imagem, destinoX, destinoY, null);
+        } while (imagem.contentsLost());
+    }
+
+    // A origem mudou: a cópia é refeita no próximo desenho
+    public void invalidar() {
+        desatualizada = true;
+    }
+
+    private void preencher() {
+        Graphics2D g2d = imagem.createGraphics();
+        // Substitui em vez de compor: o conteúdo anterior pode ser lixo ou a origem antiga
+        g2d.setComposite(AlphaComposite.Src);
+        if (suave) g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.drawImage(origem, 0, 0, larguraDestino, alturaDestino,
+            origemX, origemY, origemX + largura, origemY + altura, null);
+        g2d.dispose();
+        desatualizada = false;
+    }
+
+    public void liberar() {
+        if (imagem != null) {
+            imagem.flush();
+            imagem = null;
+        }
+    }
+
+    public int getLargura() { return larguraDestino; }
+    public int getAltura() { return alturaDestino; }
+}
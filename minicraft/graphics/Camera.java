@@ -4,10 +4,18 @@ import minicraft.player.Player;
 
 public  class Camera {
     private int x, y;
+    private int xAnterior, yAnterior;
     
     public Camera(int x, int y) {
         this.x = x;
         this.y = y;
+        this.xAnterior = x;
+        this.yAnterior = y;
+    }
+
+    public void marcarPosicaoAnterior() {
+        xAnterior = x;
+        yAnterior = y;
     }
 
     public void update(Player player, int mapWidth, int mapHeight, int screenWidth, int screenHeight) {
@@ -24,4 +32,8 @@ public  class Camera {
 
     public int getX() { return x; }
     public int getY() { return y; }
+    public int getXAnterior() { return xAnterior; }
+    public int getYAnterior() { return yAnterior; }
+    public int getRenderX(float alpha) { return Math.round(xAnterior + (x - xAnterior) * alpha); }
+    public int getRenderY(float alpha) { return Math.round(yAnterior + (y - yAnterior) * alpha); }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package minicraft.graphics;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+// Uma animação: os quadros nas duas orientações e quanto tempo cada um fica na tela.
+// Imutável e compartilhada por todas as entidades do tipo; o que muda por entidade (quadro
+// atual e tempo nele) fica numa cabeça de leitura à parte, como CursorAnimacao.
+public final class ClipeAnimacao {
+    private final BufferedImage[][] quadros; // [lado][quadro]
+    private final float[] duracoes; // segundos de cada quadro
+
+    ClipeAnimacao(BufferedImage[] direita, BufferedImage[] esquerda, float[] duracoes) {
+        if (direita.length != esquerda.length || direita.length != duracoes.length) {
+            throw new IllegalArgumentException("Clipe com " + direita.length + " quadros e " + duracoes.length + " durações");
+        }
+        this.quadros = new BufferedImage[2][];
+        this.quadros[SpriteSheet.DIREITA] = direita;
+        this.quadros[SpriteSheet.ESQUERDA] = esquerda;
+        this.duracoes = duracoes.clone();
+    }
+
+    // Todos os quadros com a mesma duração
+    static float[] uniforme(int quantidade, float segundosPorQuadro) {
+        float[] duracoes = new float[quantidade];
+        Arrays.fill(duracoes, segundosPorQuadro);
+        return duracoes;
+    }
+
+    // O índice dá a volta: quem troca de clipe sem voltar ao quadro 0 continua em loop
+    public BufferedImage getQuadro(int lado, int quadro) {
+        BufferedImage[] q = quadros[lado];
+        return q[quadro % q.length];
+    }
+
+    // Se quem está há 'tempo' segundos em 'quadro' já deve passar para o seguinte
+    public boolean venceu(int quadro, float tempo) {
+        return tempo >= getDuracao(quadro);
+    }
+
+    // A divisão só acontece para quem veio de um clipe mais longo
+    public int seguinte(int quadro) {
+        int s = quadro + 1;
+        return s < duracoes.length ? s : s % duracoes.length;
+    }
+
+    public int getQuantidade() {
+        return duracoes.length;
+    }
+
+    public float getDuracao(int quadro) {
+        return duracoes[quadro < duracoes.length ? quadro : quadro % duracoes.length];
+    }
+}
@@ -0,0 +1,38 @@
+package minicraft.graphics;
+
+import java.awt.image.BufferedImage;
+
+// Clipes de todas as animações de um tipo de entidade, indexados pelo ordinal do estado.
+// Uma instância por tipo, compartilhada por todas as entidades dele através do AssetManager;
+// os arrays não saem daqui, então ninguém consegue alterar o conjunto depois de montado.
+public final class ConjuntoAnimacoes {
+    private final ClipeAnimacao[] clipes;
+    private final int lote;
+
+    ConjuntoAnimacoes(ClipeAnimacao[] clipes, int lote) {
+        this.clipes = clipes;
+        this.lote = lote;
+    }
+
+    public ClipeAnimacao getClipe(int estado) {
+        return clipes[estado];
+    }
+
+    // O índice do quadro dá a volta, como as animações em loop das entidades
+    public BufferedImage getQuadro(int lado, int estado, int quadro) {
+        return clipes[estado].getQuadro(lado, quadro);
+    }
+
+    public int getQuantidade(int estado) {
+        return clipes[estado].getQuantidade();
+    }
+
+    public int getTotalEstados() {
+        return clipes.length;
+    }
+
+    // Número do conjunto, usado pela fila de desenho para agrupar sprites da mesma sheet
+    public int getLote() {
+        return lote;
+    }
+}
@@ -1,91 +1,49 @@
 package minicraft.graphics;
 
-import java.util.HashMap;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.image.BufferedImage;
 
+import minicraft.core.Agendador;
+
 public class Cronometro {
-    private Timer idleTimer;
-    private SpriteSheet spriterelogio;
-    private HashMap<String, BufferedImage[]> animations;
+    // A cor do céu só depende da fase do dia, então é tabelada uma vez para o ciclo todo.
+    // Com 1024 posições o alfa muda menos de 1/255 entre vizinhas, invisível na tela.
+    private static final int ENTRADAS_CEU = 1024;
+    private static final Color[] CORES_CEU = new Color[ENTRADAS_CEU];
+
+    static {
+        for (int i = 0; i < ENTRADAS_CEU; i++) {
+            CORES_CEU[i] = calcularCorCeu((float) i / ENTRADAS_CEU);
+        }
+    }
+
+    // Ponteiro do relógio: 32 quadros numa sheet de 8 por 4
+    private static final int QUADROS = 32;
+    private static final int QUADROS_POR_LINHA = 8;
+
+    private final BufferedImage[] quadros = new BufferedImage[QUADROS];
     private int frame = 0;
-    private String state = "horario";
-    private long startTime;
     private final long dayDuration = 160000; // 160 segundos (2 minutos e 40 segundos)
     private int x, y;
-    private long lastFrameTime = System.currentTimeMillis(); // Tempo da última troca de frame
 
-    public Cronometro() {
+    public Cronometro(Agendador agendador) {
         this.x = 30; // Posição X fixa
         this.y = 30; // Posição Y fixa
-        spriterelogio = new SpriteSheet("minicraft/graphics/sprites/horario.png", 18, 18);
-        animations = new HashMap<>();
-        startTime = System.currentTimeMillis(); // Inicia o tempo
-        loadAnimations();
-        startIdleAnimation();
-    }
-
-    private void loadAnimations() {
-        animations.put("horario", new BufferedImage[]{
-            spriterelogio.getSprite(0, 0),
-            spriterelogio.getSprite(18, 0),
-            spriterelogio.getSprite(36, 0),
-            spriterelogio.getSprite(54, 0),
-            spriterelogio.getSprite(72, 0),
-            spriterelogio.getSprite(90, 0),
-            spriterelogio.getSprite(108, 0),
-            spriterelogio.getSprite(126, 0),
-            spriterelogio.getSprite(0, 18),
-            spriterelogio.getSprite(18, 18),
-            spriterelogio.getSprite(36, 18),
-            spriterelogio.getSprite(54, 18),
-            spriterelogio.getSprite(72, 18),
-            spriterelogio.getSprite(90, 18),
-            spriterelogio.getSprite(108, 18),
-            spriterelogio.getSprite(126, 18),
-            spriterelogio.getSprite(0, 36),
-            spriterelogio.getSprite(18, 36),
-            spriterelogio.getSprite(36, 36),
-            spriterelogio.getSprite(54, 36),
-            spriterelogio.getSprite(72, 36),
-            spriterelogio.getSprite(90, 36),
-            spriterelogio.getSprite(108, 36),
-            spriterelogio.getSprite(126, 36),
-            spriterelogio.getSprite(0, 54),
-            spriterelogio.getSprite(18, 54),
-            spriterelogio.getSprite(36, 54),
-            spriterelogio.getSprite(54, 54),
-            spriterelogio.getSprite(72, 54),
-            spriterelogio.getSprite(90, 54),
-            spriterelogio.getSprite(108, 54),
-            spriterelogio.getSprite(126, 54)
-        });
+        SpriteSheet spriterelogio = AssetManager.getSheet("minicraft/graphics/sprites/horario.png", 18, 18);
+        for (int i = 0; i < QUADROS; i++) {
+            quadros[i] = spriterelogio.getSprite((i % QUADROS_POR_LINHA) * 18, (i / QUADROS_POR_LINHA) * 18);
+        }
+        startIdleAnimation(agendador);
     }
 
-    private void startIdleAnimation() {
-        idleTimer = new Timer();
-        idleTimer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                frame = (frame + 1) % animations.get(state).length;
-            }
-        }, 0, 5000); // Muda o frame a cada 5 segundos
+    private void startIdleAnimation(Agendador agendador) {
+        long periodo = agendador.ticksPara(5000); // Muda o frame a cada 5 segundos de jogo
+        agendador.agendarRepetindo(periodo, periodo, () -> frame = (frame + 1) % QUADROS);
     }
 
     public BufferedImage getCurrentFrame() {
-        return animations.get(state)[frame];
-    }
-
-    public void update() {
-        // Atualiza a animação (se necessário)
-        long currentTime = System.currentTimeMillis();
-        if (currentTime - lastFrameTime >= 5000) { // 5000ms = 5 segundos
-            frame = (frame + 1) % animations.get(state).length;
-            lastFrameTime = currentTime;
-        }
+        return quadros[frame];
     }
 
     public void render(Graphics g) {
@@ -96,15 +54,22 @@ public class Cronometro {
         }
     }
 
+    public void capturar(RenderSnapshot snapshot) {
+        BufferedImage currentFrame = getCurrentFrame();
+        if (currentFrame != null) {
+            snapshot.adicionarSpriteTela(currentFrame, x, y, 48 * 3, 48 * 3);
+        }
+    }
 
     public float getDayPhase(long gameTime) {
         return (float) (gameTime % dayDuration) / dayDuration;
     }
 
-
-
     public Color getSkyColor(long gameTime) {
-        float phase = getDayPhase(gameTime);
+        return CORES_CEU[(int) (getDayPhase(gameTime) * ENTRADAS_CEU) & (ENTRADAS_CEU - 1)];
+    }
+
+    private static Color calcularCorCeu(float phase) {
         float r, g, b, alpha;
     
         // Novo esquema de fases:
@@ -136,7 +101,7 @@ public class Cronometro {
         }
         else { 
             // Noite mais longa
-            alpha = 0.8f * ((phase - 0.68f) / 0.25f);
+            alpha = Math.min(1.0f, 0.8f * ((phase - 0.68f) / 0.25f));
             r = 0.15f;
             g = 0.1f;
             b = 0.3f;
@@ -0,0 +1,24 @@
+package minicraft.graphics;
+
+// Cabeça de leitura de uma entidade num ClipeAnimacao: só o quadro e o tempo nele.
+// O clipe é passado a cada chamada, então trocar de animação não aloca nada.
+public final class CursorAnimacao {
+    private int quadro;
+    private float tempo;
+
+    // Um tick; devolve true se trocou de quadro
+    public boolean avancar(ClipeAnimacao clipe, float deltaTime) {
+        tempo += deltaTime;
+        if (!clipe.venceu(quadro, tempo)) return false;
+        quadro = clipe.seguinte(quadro);
+        tempo = 0;
+        return true;
+    }
+
+    public void reiniciar() {
+        quadro = 0;
+        tempo = 0;
+    }
+
+    public int getQuadro() { return quadro; }
+}
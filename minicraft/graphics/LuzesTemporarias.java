@@ -0,0 +1,56 @@
+package minicraft.graphics;
+
+// Clarões que se apagam sozinhos (explosões etc.), do lado da thread do jogo.
+// Guardados em arrays com remoção por troca com o último, como as partículas.
+public class LuzesTemporarias {
+    private int total = 0;
+    private int[] x, y, raio;
+    private short[] duracao, restante;
+
+    public LuzesTemporarias(int capacidade) {
+        x = new int[capacidade];
+        y = new int[capacidade];
+        raio = new int[capacidade];
+        duracao = new short[capacidade];
+        restante = new short[capacidade];
+    }
+
+    public void adicionar(int px, int py, int raioLuz, int duracaoTicks) {
+        if (total == x.length) return;
+        int i = total++;
+        x[i] = px;
+        y[i] = py;
+        raio[i] = raioLuz;
+        duracao[i] = (short) duracaoTicks;
+        restante[i] = (short) duracaoTicks;
+    }
+
+    public void atualizar() {
+        int i = 0;
+        while (i < total) {
+            if (--restante[i] <= 0) {
+                int ultimo = --total;
+                x[i] = x[ultimo];
+                y[i] = y[ultimo];
+                raio[i] = raio[ultimo];
+                duracao[i] = duracao[ultimo];
+                restante[i] = restante[ultimo];
+                continue;
+            }
+            i++;
+        }
+    }
+
+    // A intensidade cai linearmente até apagar
+    public void capturar(RenderSnapshot snapshot) {
+        for (int i = 0; i < total; i++) {
+            snapshot.adicionarLuz(x[i], y[i], x[i], y[i], raio[i], (float) restante[i] / duracao[i]);
+        }
+    }
+
+    public void limpar() {
+        total = 0;
+    }
+
+    public int getTotal() { return total; }
+}
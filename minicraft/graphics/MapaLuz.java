@@ -0,0 +1,168 @@
+package minicraft.graphics;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+// Escuridão da noite com luzes pontuais. As luzes são somadas num buffer com 1/ESCALA da
+// resolução da tela e o resultado é esticado sobre a tela, então o custo de acumular as
+// luzes depende do tamanho do buffer e não da resolução. Só a thread de render usa.
+public class MapaLuz {
+    public static final int ESCALA = 4;
+    private static final int MAX_LUZES = 256;
+    private static final int MAX_RAIO = 1023;
+    // Esticar com filtro bilinear suaviza os blocos de ESCALA pixels, mas no pipeline de
+    // software custa umas três vezes o vizinho mais próximo; ligado com -Dminicraft.luzSuave=true
+    private static final boolean SUAVE = Boolean.getBoolean("minicraft.luzSuave");
+
+    private final int largura, altura;
+    // O buffer é escrito direto pelo array, o que tira a imagem da aceleração do Java2D.
+    // Com as luzes paradas ele é esticado uma vez para o cache, uma VolatileImage do tamanho
+    // da tela, e os frames seguintes só copiam o cache, sem esticar nem subir o buffer.
+    private final BufferedImage imagem;
+    private final int[] pixels;
+    private final int[] luz;
+    private final CamadaVolatil cache;
+
+    // Cada luz visível vira uma chave ordenável (y, x, raio, intensidade) no espaço do buffer.
+    // Se as chaves ordenadas e o céu forem os mesmos do frame anterior, o buffer é reaproveitado.
+    private final long[] chaves = new long[MAX_LUZES];
+    private final long[] chavesAnteriores = new long[MAX_LUZES];
+    private int totalAnterior = -1;
+    private int corAnterior;
+
+    private final int[] corPorLuz = new int[256];
+    private final int[][] nucleos = new int[MAX_RAIO + 1][];
+
+    public MapaLuz(int larguraTela, int alturaTela) {
+        largura = (larguraTela + ESCALA - 1) / ESCALA;
+        altura = (alturaTela + ESCALA - 1) / ESCALA;
+        // Pré-multiplicado: o Java2D compõe direto, sem converter pixel a pixel
+        imagem = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_ARGB_PRE);
+        pixels = ((DataBufferInt) imagem.getRaster().getDataBuffer()).getData();
+        luz = new int[largura * altura];
+        cache = new CamadaVolatil(imagem, 0, 0, largura, altura, ESCALA, SUAVE);
+    }
+
+    public void desenhar(Graphics g, RenderSnapshot snapshot, int cameraX, int cameraY, float alpha) {
+        Color ceu = snapshot.getCorCeu();
+        if (ceu == null || ceu.getAlpha() == 0) return;
+
+        int total = coletar(snapshot, cameraX, cameraY, alpha);
+        if (total == 0) {
+            // Sem luz na tela: a escuridão é uniforme
+            g.setColor(ceu);
+            g.fillRect(0, 0, largura * ESCALA, altura * ESCALA);
+            totalAnterior = -1;
+            return;
+        }
+
+        int cor = ceu.getRGB();
+        if (total != totalAnterior || cor != corAnterior
+                || !Arrays.equals(chaves, 0, total, chavesAnteriores, 0, total)) {
+            if (cor != corAnterior) prepararCores(ceu);
+            acumular(total);
+            System.arraycopy(chaves, 0, chavesAnteriores, 0, total);
+            totalAnterior = total;
+            corAnterior = cor;
+            // Luzes que mudam a todo frame: passar pelo cache seria esticar e ainda copiar
+            cache.invalidar();
+            esticar((Graphics2D) g);
+            return;
+        }
+        cache.desenhar((Graphics2D) g, 0, 0);
+    }
+
+    private void esticar(Graphics2D g) {
+        if (!SUAVE) {
+            g.drawImage(imagem, 0, 0, largura * ESCALA, altura * ESCALA, null);
+            return;
+        }
+        Object interpolacao = g.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(imagem, 0, 0, largura * ESCALA, altura * ESCALA, null);
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+            interpolacao != null ? interpolacao : RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+    }
+
+    // Converte as luzes para o espaço do buffer, descarta as que não alcançam a tela e ordena
+    private int coletar(RenderSnapshot snapshot, int cameraX, int cameraY, float alpha) {
+        int total = 0;
+        for (int i = 0; i < snapshot.getTotalLuzes() && total < MAX_LUZES; i++) {
+            int raio = Math.min(MAX_RAIO, Math.max(1, snapshot.getLuzRaio(i) / ESCALA));
+            int x = Math.floorDiv(snapshot.getLuzX(i, alpha) - cameraX, ESCALA);
+            int y = Math.floorDiv(snapshot.getLuzY(i, alpha) - cameraY, ESCALA);
+            if (x + raio < 0 || x - raio >= largura || y + raio < 0 || y - raio >= altura) continue;
+
+            int intensidade = Math.round(Math.min(1f, Math.max(0f, snapshot.getLuzIntensidade(i))) * 255);
+            if (intensidade == 0) continue;
+
+            // x e y podem ser negativos; o deslocamento de 2048 os deixa positivos em 16 bits
+            chaves[total++] = ((long) (y + 2048) << 40) | ((long) (x + 2048) << 24) | ((long) raio << 8) | intensidade;
+        }
+        Arrays.sort(chaves, 0, total);
+        return total;
+    }
+
+    private void acumular(int total) {
+        Arrays.fill(luz, 0);
+        for (int i = 0; i < total; i++) {
+            long chave = chaves[i];
+            int y = (int) ((chave >>> 40) & 0xFFFF) - 2048;
+            int x = (int) ((chave >>> 24) & 0xFFFF) - 2048;
+            int raio = (int) ((chave >>> 8) & 0xFFFF);
+            int intensidade = (int) (chave & 0xFF);
+            carimbar(x, y, raio, intensidade);
+        }
+        for (int i = 0; i < luz.length; i++) {
+            pixels[i] = corPorLuz[luz[i]];
+        }
+    }
+
+    // Soma saturada do núcleo da luz no buffer, recortado às bordas
+    private void carimbar(int cx, int cy, int raio, int intensidade) {
+        int[] nucleo = nucleos[raio];
+        if (nucleo == null) nucleo = nucleos[raio] = criarNucleo(raio);
+        int lado = raio * 2 + 1;
+        int y0 = Math.max(0, cy - raio), y1 = Math.min(altura - 1, cy + raio);
+        int x0 = Math.max(0, cx - raio), x1 = Math.min(largura - 1, cx + raio);
+        for (int y = y0; y <= y1; y++) {
+            int linhaNucleo = (y - cy + raio) * lado - cx + raio;
+            int linha = y * largura;
+            for (int x = x0; x <= x1; x++) {
+                int k = nucleo[linhaNucleo + x];
+                if (k == 0) continue;
+                int v = luz[linha + x] + (k * intensidade + 127) / 255;
+                luz[linha + x] = v > 255 ? 255 : v;
+            }
+        }
+    }
+
+    // Queda quadrática do centro (255) até a borda do raio (0)
+    private static int[] criarNucleo(int raio) {
+        int lado = raio * 2 + 1;
+        int[] nucleo = new int[lado * lado];
+        float r2 = (float) raio * raio;
+        for (int y = -raio; y <= raio; y++) {
+            for (int x = -raio; x <= raio; x++) {
+                float f = 1f - (x * x + y * y) / r2;
+                nucleo[(y + raio) * lado + x + raio] = f > 0 ? Math.round(f * 255) : 0;
+            }
+        }
+        return nucleo;
+    }
+
+    // Cor do céu com o alfa reduzido conforme a quantidade de luz no pixel, já pré-multiplicada
+    private void prepararCores(Color ceu) {
+        int alfaCeu = ceu.getAlpha();
+        for (int l = 0; l < corPorLuz.length; l++) {
+            int a = alfaCeu * (255 - l) / 255;
+            corPorLuz[l] = (a << 24) | ((ceu.getRed() * a / 255) << 16)
+                | ((ceu.getGreen() * a / 255) << 8) | (ceu.getBlue() * a / 255);
+        }
+    }
+}
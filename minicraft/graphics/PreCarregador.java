@@ -0,0 +1,116 @@
+package minicraft.graphics;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import minicraft.core.Log;
+import minicraft.core.Log.Categoria;
+import minicraft.core.Log.Nivel;
+
+// Decodifica todas as imagens de uma pasta em paralelo para o cache do AssetManager antes
+// do jogo começar. Usa no máximo uma thread por núcleo; quem precisar de uma imagem antes
+// de a pré-carga chegar nela só espera a mesma leitura, nunca decodifica duas vezes.
+public class PreCarregador {
+    public static final String PASTA_SPRITES = "minicraft/graphics/sprites";
+
+    private final String[] caminhos;
+    private final long[] nanosPorArquivo;
+    private final boolean[] falhou;
+    private final AtomicInteger concluidos = new AtomicInteger();
+    private final CountDownLatch fim;
+    private final int threads;
+    private volatile String ultimo = "";
+    private long inicio;
+    private long nanosTotal;
+
+    public PreCarregador(String pasta) {
+        this(pasta, Runtime.getRuntime().availableProcessors());
+    }
+
+    public PreCarregador(String pasta, int maximoThreads) {
+        File[] arquivos = new File(pasta).listFiles((dir, nome) -> nome.toLowerCase().endsWith(".png"));
+        if (arquivos == null) arquivos = new File[0];
+        // Os maiores primeiro, para o mais lento não ficar sozinho no final
+        Arrays.sort(arquivos, (a, b) -> Long.compare(b.length(), a.length()));
+
+        caminhos = new String[arquivos.length];
+        for (int i = 0; i < arquivos.length; i++) {
+            caminhos[i] = pasta + "/" + arquivos[i].getName();
+        }
+        nanosPorArquivo = new long[arquivos.length];
+        falhou = new boolean[arquivos.length];
+        fim = new CountDownLatch(arquivos.length);
+        threads = Math.max(1, Math.min(maximoThreads, arquivos.length));
+    }
+
+    public PreCarregador iniciar() {
+        inicio = System.nanoTime();
+        AtomicInteger numero = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, tarefa -> {
+            Thread t = new Thread(tarefa, "Assets-" + numero.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        for (int i = 0; i < caminhos.length; i++) {
+            int indice = i;
+            executor.execute(() -> carregar(indice));
+        }
+        executor.shutdown();
+        return this;
+    }
+
+    private void carregar(int i) {
+        long t0 = System.nanoTime();
+        try {
+            AssetManager.getImagem(caminhos[i]);
+        } catch (RuntimeException e) {
+            falhou[i] = true;
+            Log.erro(Categoria.GRAFICOS, "Pré-carga: " + caminhos[i] + ": " + e.getCause());
+        }
+        nanosPorArquivo[i] = System.nanoTime() - t0;
+        ultimo = caminhos[i].substring(caminhos[i].lastIndexOf('/') + 1);
+        if (concluidos.incrementAndGet() == caminhos.length) {
+            nanosTotal = System.nanoTime() - inicio;
+        }
+        fim.countDown();
+    }
+
+    // Espera até 'milis' e diz se terminou; serve para a tela de carregamento ir se redesenhando
+    public boolean aguardar(long milis) throws InterruptedException {
+        return fim.await(milis, TimeUnit.MILLISECONDS);
+    }
+
+    public void aguardar() throws InterruptedException {
+        fim.await();
+    }
+
+    // Um tempo por arquivo, do mais lento ao mais rápido, e o total de parede contra a soma
+    public void relatar() {
+        if (!Log.ativo(Categoria.GRAFICOS, Nivel.INFO)) return;
+        List<Integer> ordem = new ArrayList<>();
+        long soma = 0;
+        for (int i = 0; i < caminhos.length; i++) {
+            ordem.add(i);
+            soma += nanosPorArquivo[i];
+        }
+        ordem.sort((a, b) -> Long.compare(nanosPorArquivo[b], nanosPorArquivo[a]));
+        for (int i : ordem) {
+            Log.info(Categoria.GRAFICOS, String.format("Pré-carga %8.1f ms  %s%s",
+                nanosPorArquivo[i] / 1e6, caminhos[i], falhou[i] ? " (falhou)" : ""));
+        }
+        Log.info(Categoria.GRAFICOS, String.format("Pré-carga: %d imagens em %.1f ms com %d threads (soma %.1f ms)",
+            caminhos.length, nanosTotal / 1e6, threads, soma / 1e6));
+    }
+
+    public int getConcluidos() { return concluidos.get(); }
+    public int getTotal() { return caminhos.length; }
+    public String getUltimo() { return ultimo; }
+    public long getNanosTotal() { return nanosTotal; }
+}
@@ -0,0 +1,315 @@
+package minicraft.graphics;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+// Cópia do que precisa ser desenhado num tick. É preenchida pela thread do jogo
+// e, depois de publicada, só é lida pela thread de render até voltar a ser reciclada.
+public class RenderSnapshot {
+    private static final int CAPACIDADE_INICIAL = 64;
+    // Folga em volta da câmera para o que entra na tela durante a interpolação do tick
+    private static final int MARGEM_CULLING = 64;
+
+    private long tempoCaptura;
+    private long tempoJogo;
+    private int cameraXAnterior, cameraYAnterior, cameraX, cameraY;
+    private Color corCeu;
+    private int larguraTela, alturaTela;
+
+    // Comandos de desenho, na ordem em que devem ser executados
+    private int total;
+    private BufferedImage[] imagens = new BufferedImage[CAPACIDADE_INICIAL];
+    private Color[] cores = new Color[CAPACIDADE_INICIAL];
+    private int[] xAnterior = new int[CAPACIDADE_INICIAL];
+    private int[] yAnterior = new int[CAPACIDADE_INICIAL];
+    private int[] xAtual = new int[CAPACIDADE_INICIAL];
+    private int[] yAtual = new int[CAPACIDADE_INICIAL];
+    private int[] largura = new int[CAPACIDADE_INICIAL];
+    private int[] altura = new int[CAPACIDADE_INICIAL];
+    private boolean[] fixoNaTela = new boolean[CAPACIDADE_INICIAL];
+    private int[] lote = new int[CAPACIDADE_INICIAL];
+
+    // Fila de desenho: os comandos do mundo ordenados pelo pé (y + altura) para quem está
+    // mais abaixo cobrir quem está atrás, e no mesmo y agrupados por lote (sheet de origem).
+    // Os de tela vêm depois, na ordem em que foram adicionados. Montada uma vez por snapshot.
+    private boolean ordenado;
+    private int[] ordem = new int[CAPACIDADE_INICIAL];
+    private int[] ordemAux = new int[CAPACIDADE_INICIAL];
+    private long[] chave = new long[CAPACIDADE_INICIAL];
+    private long[] chaveAux = new long[CAPACIDADE_INICIAL];
+    private final int[] contagem = new int[256];
+    private int descartados;
+
+    // Partículas: copiadas em bloco, já agrupadas por tipo, e desenhadas por cima dos
+    // comandos com uma troca de imagem ou cor por tipo
+    private int totalParticulas;
+    private float[] particulaXAnterior = new float[CAPACIDADE_INICIAL];
+    private float[] particulaYAnterior = new float[CAPACIDADE_INICIAL];
+    private float[] particulaX = new float[CAPACIDADE_INICIAL];
+    private float[] particulaY = new float[CAPACIDADE_INICIAL];
+    private final int[] inicioTipo = new int[SistemaParticulas.TOTAL_TIPOS + 1];
+    private BufferedImage[] imagensParticulas;
+    private Color[] coresParticulas;
+    private int[] tamanhosParticulas;
+
+    // Luzes pontuais em coordenadas do mundo, compostas pelo MapaLuz depois do céu
+    private int totalLuzes;
+    private int[] luzXAnterior = new int[CAPACIDADE_INICIAL];
+    private int[] luzYAnterior = new int[CAPACIDADE_INICIAL];
+    private int[] luzX = new int[CAPACIDADE_INICIAL];
+    private int[] luzY = new int[CAPACIDADE_INICIAL];
+    private int[] luzRaio = new int[CAPACIDADE_INICIAL];
+    private float[] luzIntensidade = new float[CAPACIDADE_INICIAL];
+
+    public void limpar(long tempoCaptura, long tempoJogo) {
+        this.tempoCaptura = tempoCaptura;
+        this.tempoJogo = tempoJogo;
+        Arrays.fill(imagens, 0, total, null);
+        Arrays.fill(cores, 0, total, null);
+        total = 0;
+        descartados = 0;
+        ordenado = false;
+        totalParticulas = 0;
+        Arrays.fill(inicioTipo, 0);
+        totalLuzes = 0;
+        corCeu = null;
+    }
+
+    public void setCamera(int xAnterior, int yAnterior, int x, int y) {
+        this.cameraXAnterior = xAnterior;
+        this.cameraYAnterior = yAnterior;
+        this.cameraX = x;
+        this.cameraY = y;
+    }
+
+    // Tamanho da área visível; sem ele nada é descartado
+    public void setViewport(int largura, int altura) {
+        this.larguraTela = largura;
+        this.alturaTela = altura;
+    }
+
+    public void setCorCeu(Color corCeu) {
+        this.corCeu = corCeu;
+    }
+
+    // Sprite em coordenadas do mundo, interpolado entre a posição anterior e a atual
+    public void adicionarSprite(BufferedImage imagem, int xAnt, int yAnt, int x, int y, int w, int h) {
+        adicionar(imagem, null, 0, xAnt, yAnt, x, y, w, h, false);
+    }
+
+    // 'loteSprite' identifica a sheet de origem (ConjuntoAnimacoes.getLote)
+    public void adicionarSprite(BufferedImage imagem, int loteSprite, int xAnt, int yAnt, int x, int y, int w, int h) {
+        adicionar(imagem, null, loteSprite, xAnt, yAnt, x, y, w, h, false);
+    }
+
+    // Sprite em coordenadas de tela (HUD)
+    public void adicionarSpriteTela(BufferedImage imagem, int x, int y, int w, int h) {
+        adicionar(imagem, null, 0, x, y, x, y, w, h, true);
+    }
+
+    // Contorno de retângulo em coordenadas do mundo
+    public void adicionarRetangulo(Color cor, int x, int y, int w, int h) {
+        adicionar(null, cor, 0, x, y, x, y, w, h, false);
+    }
+
+    private void adicionar(BufferedImage imagem, Color cor, int loteSprite, int xAnt, int yAnt, int x, int y,
+                           int w, int h, boolean tela) {
+        if (!tela && larguraTela > 0 && foraDaTela(x, y, w, h)) {
+            descartados++;
+            return;
+        }
+        if (total == imagens.length) crescer();
+        imagens[total] = imagem;
+        cores[total] = cor;
+        xAnterior[total] = xAnt;
+        yAnterior[total] = yAnt;
+        xAtual[total] = x;
+        yAtual[total] = y;
+        largura[total] = w;
+        altura[total] = h;
+        fixoNaTela[total] = tela;
+        lote[total] = loteSprite;
+        total++;
+    }
+
+    private boolean foraDaTela(int x, int y, int w, int h) {
+        return x + w < cameraX - MARGEM_CULLING || x > cameraX + larguraTela + MARGEM_CULLING
+            || y + h < cameraY - MARGEM_CULLING || y > cameraY + alturaTela + MARGEM_CULLING;
+    }
+
+    // Intensidade de 0 a 1; o raio é onde a luz acaba
+    public void adicionarLuz(int xAnt, int yAnt, int x, int y, int raio, float intensidade) {
+        if (totalLuzes == luzX.length) {
+            int capacidade = luzX.length * 2;
+            luzXAnterior = Arrays.copyOf(luzXAnterior, capacidade);
+            luzYAnterior = Arrays.copyOf(luzYAnterior, capacidade);
+            luzX = Arrays.copyOf(luzX, capacidade);
+            luzY = Arrays.copyOf(luzY, capacidade);
+            luzRaio = Arrays.copyOf(luzRaio, capacidade);
+            luzIntensidade = Arrays.copyOf(luzIntensidade, capacidade);
+        }
+        luzXAnterior[totalLuzes] = xAnt;
+        luzYAnterior[totalLuzes] = yAnt;
+        luzX[totalLuzes] = x;
+        luzY[totalLuzes] = y;
+        luzRaio[totalLuzes] = raio;
+        luzIntensidade[totalLuzes] = intensidade;
+        totalLuzes++;
+    }
+
+    // Ordenação por contagem pelo tipo, sem alocar depois que os arrays atingem o tamanho do pool
+    void copiarParticulas(int quantidade, float[] xAnt, float[] yAnt, float[] x, float[] y, byte[] tipo,
+                          BufferedImage[] imagens, Color[] cores, int[] tamanhos) {
+        if (particulaX.length < quantidade) {
+            int capacidade = Math.max(quantidade, particulaX.length * 2);
+            particulaXAnterior = new float[capacidade];
+            particulaYAnterior = new float[capacidade];
+            particulaX = new float[capacidade];
+            particulaY = new float[capacidade];
+        }
+        imagensParticulas = imagens;
+        coresParticulas = cores;
+        tamanhosParticulas = tamanhos;
+        totalParticulas = quantidade;
+
+        Arrays.fill(inicioTipo, 0);
+        for (int i = 0; i < quantidade; i++) {
+            inicioTipo[tipo[i] + 1]++;
+        }
+        for (int t = 1; t < inicioTipo.length; t++) {
+            inicioTipo[t] += inicioTipo[t - 1];
+        }
+        // inicioTipo[t] avança enquanto preenche; no fim vale o início do tipo t + 1
+        for (int i = 0; i < quantidade; i++) {
+            int destino = inicioTipo[tipo[i]]++;
+            particulaXAnterior[destino] = xAnt[i];
+            particulaYAnterior[destino] = yAnt[i];
+            particulaX[destino] = x[i];
+            particulaY[destino] = y[i];
+        }
+    }
+
+    private void crescer() {
+        int capacidade = imagens.length * 2;
+        imagens = Arrays.copyOf(imagens, capacidade);
+        cores = Arrays.copyOf(cores, capacidade);
+        xAnterior = Arrays.copyOf(xAnterior, capacidade);
+        yAnterior = Arrays.copyOf(yAnterior, capacidade);
+        xAtual = Arrays.copyOf(xAtual, capacidade);
+        yAtual = Arrays.copyOf(yAtual, capacidade);
+        largura = Arrays.copyOf(largura, capacidade);
+        altura = Arrays.copyOf(altura, capacidade);
+        fixoNaTela = Arrays.copyOf(fixoNaTela, capacidade);
+        lote = Arrays.copyOf(lote, capacidade);
+        ordem = new int[capacidade];
+        ordemAux = new int[capacidade];
+        chave = new long[capacidade];
+        chaveAux = new long[capacidade];
+    }
+
+    private void ordenar() {
+        int n = 0;
+        for (int i = 0; i < total; i++) {
+            if (fixoNaTela[i]) continue;
+            ordem[n] = i;
+            // O pé na metade alta e o lote inteiro na baixa, para lotes diferentes nunca se
+            // misturarem. Bit de sinal invertido para os pés negativos (acima do mapa) virem
+            // antes como sem sinal.
+            chave[n] = (((long) (yAtual[i] + altura[i]) << 32) | (lote[i] & 0xFFFFFFFFL)) ^ Long.MIN_VALUE;
+            n++;
+        }
+        ordenarPorChave(n);
+        for (int i = 0; i < total; i++) {
+            if (fixoNaTela[i]) ordem[n++] = i;
+        }
+        ordenado = true;
+    }
+
+    // Radix LSD de 8 bits sobre as chaves, estável e sem alocar. Uma passada em que todas as
+    // chaves caem no mesmo balde é pulada, o que é o comum nos bytes altos do lote e do pé.
+    private void ordenarPorChave(int n) {
+        for (int deslocamento = 0; deslocamento < 64; deslocamento += 8) {
+            Arrays.fill(contagem, 0);
+            for (int i = 0; i < n; i++) {
+                contagem[(int) (chave[i] >>> deslocamento) & 0xFF]++;
+            }
+            if (n == 0 || contagem[(int) (chave[0] >>> deslocamento) & 0xFF] == n) continue;
+
+            int soma = 0;
+            for (int b = 0; b < 256; b++) {
+                int c = contagem[b];
+                contagem[b] = soma;
+                soma += c;
+            }
+            for (int i = 0; i < n; i++) {
+                int destino = contagem[(int) (chave[i] >>> deslocamento) & 0xFF]++;
+                chaveAux[destino] = chave[i];
+                ordemAux[destino] = ordem[i];
+            }
+            long[] t = chave; chave = chaveAux; chaveAux = t;
+            int[] o = ordem; ordem = ordemAux; ordemAux = o;
+        }
+    }
+
+    // Desenha a fila de comandos; o mapa e o céu ficam a cargo de quem chama
+    public void desenharComandos(Graphics g, int camX, int camY, float alpha) {
+        if (!ordenado) ordenar();
+        for (int k = 0; k < total; k++) {
+            int i = ordem[k];
+            int x = xAtual[i];
+            int y = yAtual[i];
+            if (!fixoNaTela[i]) {
+                x = Math.round(xAnterior[i] + (x - xAnterior[i]) * alpha) - camX;
+                y = Math.round(yAnterior[i] + (y - yAnterior[i]) * alpha) - camY;
+            }
+
+            if (imagens[i] != null) {
+                g.drawImage(imagens[i], x, y, largura[i], altura[i], null);
+            } else {
+                g.setColor(cores[i]);
+                g.drawRect(x, y, largura[i], altura[i]);
+            }
+        }
+        desenharParticulas(g, camX, camY, alpha);
+    }
+
+    private void desenharParticulas(Graphics g, int camX, int camY, float alpha) {
+        int inicio = 0;
+        for (int t = 0; t < SistemaParticulas.TOTAL_TIPOS; t++) {
+            int fim = inicioTipo[t];
+            if (fim == inicio) continue;
+
+            BufferedImage imagem = imagensParticulas[t];
+            int tamanho = tamanhosParticulas[t];
+            int meio = tamanho / 2;
+            if (imagem == null) g.setColor(coresParticulas[t]);
+
+            for (int i = inicio; i < fim; i++) {
+                int x = Math.round(particulaXAnterior[i] + (particulaX[i] - particulaXAnterior[i]) * alpha) - camX - meio;
+                int y = Math.round(particulaYAnterior[i] + (particulaY[i] - particulaYAnterior[i]) * alpha) - camY - meio;
+                if (imagem != null) {
+                    g.drawImage(imagem, x, y, tamanho, tamanho, null);
+                } else {
+                    g.fillRect(x, y, tamanho, tamanho);
+                }
+            }
+            inicio = fim;
+        }
+    }
+
+    public int getCameraX(float alpha) { return Math.round(cameraXAnterior + (cameraX - cameraXAnterior) * alpha); }
+    public int getCameraY(float alpha) { return Math.round(cameraYAnterior + (cameraY - cameraYAnterior) * alpha); }
+    public long getTempoCaptura() { return tempoCaptura; }
+    public long getTempoJogo() { return tempoJogo; }
+    public Color getCorCeu() { return corCeu; }
+    public int getTotal() { return total; }
+    public int getDescartados() { return descartados; }
+    public int getTotalParticulas() { return totalParticulas; }
+    public int getTotalLuzes() { return totalLuzes; }
+    public int getLuzX(int i, float alpha) { return Math.round(luzXAnterior[i] + (luzX[i] - luzXAnterior[i]) * alpha); }
+    public int getLuzY(int i, float alpha) { return Math.round(luzYAnterior[i] + (luzY[i] - luzYAnterior[i]) * alpha); }
+    public int getLuzRaio(int i) { return luzRaio[i]; }
+    public float getLuzIntensidade(int i) { return luzIntensidade[i]; }
+}
@@ -0,0 +1,99 @@
+package minicraft.graphics;
+
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.locks.LockSupport;
+
+import minicraft.core.Profiler;
+import minicraft.core.Profiler.Fase;
+import minicraft.world.Mapa;
+
+// Desenha, numa thread própria, o snapshot mais recente publicado pelo loop do jogo
+public class RenderThread extends Thread {
+    private final Canvas canvas;
+    private final Mapa mapa;
+    private final SnapshotBuffer buffer;
+    private final long nanosPorTick;
+    private final Profiler profiler;
+    private MapaLuz mapaLuz;
+    private volatile boolean running = true;
+
+    public RenderThread(Canvas canvas, Mapa mapa, SnapshotBuffer buffer, long nanosPorTick, Profiler profiler) {
+        super("Render");
+        setDaemon(true);
+        this.canvas = canvas;
+        this.mapa = mapa;
+        this.buffer = buffer;
+        this.nanosPorTick = nanosPorTick;
+        this.profiler = profiler;
+    }
+
+    @Override
+    public void run() {
+        canvas.createBufferStrategy(3);
+        BufferStrategy bs = canvas.getBufferStrategy();
+        mapaLuz = new MapaLuz(canvas.getWidth(), canvas.getHeight());
+        RenderSnapshot ultimo = null;
+        float ultimoAlpha = -1;
+
+        while (running) {
+            RenderSnapshot snapshot = buffer.paraLeitura();
+            if (snapshot == null) {
+                LockSupport.parkNanos(1_000_000L);
+                continue;
+            }
+
+            // Interpola entre o tick anterior e o capturado conforme o tempo desde a captura
+            float alpha = Math.min(1.0f, (float) (System.nanoTime() - snapshot.getTempoCaptura()) / nanosPorTick);
+
+            // Nada novo para mostrar: espera em vez de redesenhar o mesmo quadro
+            if (snapshot == ultimo && alpha == ultimoAlpha) {
+                LockSupport.parkNanos(1_000_000L);
+                continue;
+            }
+            ultimo = snapshot;
+            ultimoAlpha = alpha;
+
+            long inicioFrame = profiler.inicio();
+            do {
+                do {
+                    Graphics g = bs.getDrawGraphics();
+                    desenhar(g, snapshot, alpha);
+                    g.dispose();
+                } while (bs.contentsRestored());
+                bs.show();
+            } while (bs.contentsLost());
+            Toolkit.getDefaultToolkit().sync();
+            profiler.registrar(Fase.FRAME, inicioFrame);
+        }
+    }
+
+    private void desenhar(Graphics g, RenderSnapshot snapshot, float alpha) {
+        g.setColor(Color.BLACK);
+        g.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+
+        int cameraX = snapshot.getCameraX(alpha);
+        int cameraY = snapshot.getCameraY(alpha);
+
+        long inicio = profiler.inicio();
+        mapa.renderTerreno(g, cameraX, cameraY, canvas.getWidth(), canvas.getHeight());
+        profiler.registrar(Fase.MAPA, inicio);
+
+        inicio = profiler.inicio();
+        mapaLuz.desenhar(g, snapshot, cameraX, cameraY, alpha);
+        profiler.registrar(Fase.CEU, inicio);
+
+        inicio = profiler.inicio();
+        snapshot.desenharComandos(g, cameraX, cameraY, alpha);
+        profiler.registrar(Fase.ENTIDADES, inicio);
+
+        profiler.renderOverlay(g, canvas.getWidth() - 340, 10);
+    }
+
+    public void parar() {
+        running = false;
+    }
+}
@@ -0,0 +1,149 @@
+package minicraft.graphics;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.SplittableRandom;
+
+import minicraft.core.Log;
+import minicraft.core.Log.Categoria;
+
+// Partículas num pool de capacidade fixa guardado em arrays primitivos. Nada é alocado
+// depois do construtor: emitir ocupa a próxima posição livre e uma partícula que morre
+// é trocada pela última, então as vivas ficam sempre em [0, total).
+public class SistemaParticulas {
+    public static final int CAPACIDADE_PADRAO = 32768;
+
+    // Tipos: cada um tem imagem ou cor, tamanho, gravidade e arrasto próprios
+    public static final byte CORTE = 0;
+    public static final byte CORTE_ESQUERDA = 1;
+    public static final byte FAGULHA = 2;
+    public static final byte FUMACA = 3;
+    public static final byte GOSMA = 4;
+    static final int TOTAL_TIPOS = 5;
+
+    private static final int[] TAMANHO = {16, 16, 4, 6, 5};
+    private static final float[] GRAVIDADE = {0f, 0f, 0.15f, -0.04f, 0.35f};
+    private static final float[] ARRASTO = {1f, 1f, 0.92f, 0.9f, 0.97f};
+
+    private final BufferedImage[] imagens = new BufferedImage[TOTAL_TIPOS];
+    private final Color[] cores = new Color[TOTAL_TIPOS];
+
+    private final int capacidade;
+    private int total = 0;
+    private long descartadas = 0;
+    private final float[] x, y, xAnterior, yAnterior, vx, vy;
+    private final short[] vida;
+    private final byte[] tipo;
+    private final SplittableRandom random;
+
+    public SistemaParticulas(int capacidade, SplittableRandom random) {
+        this.capacidade = capacidade;
+        this.random = random;
+        x = new float[capacidade];
+        y = new float[capacidade];
+        xAnterior = new float[capacidade];
+        yAnterior = new float[capacidade];
+        vx = new float[capacidade];
+        vy = new float[capacidade];
+        vida = new short[capacidade];
+        tipo = new byte[capacidade];
+
+        // O corte usa o sprite de partícula do Steve; o espelhado é feito uma vez só
+        BufferedImage corte = AssetManager.getSheet("minicraft/graphics/sprites/steve_sprites1.png", 18, 18).getSprite(144, 36);
+        imagens[CORTE] = corte;
+        imagens[CORTE_ESQUERDA] = SpriteSheet.espelhar(corte);
+        cores[FAGULHA] = new Color(255, 170, 40);
+        cores[FUMACA] = new Color(90, 90, 90, 200);
+        cores[GOSMA] = new Color(110, 200, 90);
+    }
+
+    public void emitir(byte tipoParticula, float px, float py, float velX, float velY, int duracaoTicks) {
+        if (total == capacidade) {
+            if (descartadas++ == 0) Log.aviso(Categoria.GRAFICOS, "Pool de partículas cheio (" + capacidade + "), descartando novas");
+            return;
+        }
+        int i = total++;
+        tipo[i] = tipoParticula;
+        x[i] = px;
+        y[i] = py;
+        xAnterior[i] = px;
+        yAnterior[i] = py;
+        vx[i] = velX;
+        vy[i] = velY;
+        vida[i] = (short) duracaoTicks;
+    }
+
+    // Três cortes andando para o lado do ataque, como o antigo AttackParticle
+    public void emitirCorte(int px, int py, int altura, boolean paraDireita) {
+        byte t = paraDireita ? CORTE : CORTE_ESQUERDA;
+        for (int i = 0; i < 3; i++) {
+            emitir(t, px + (paraDireita ? i * 20 : -i * 20), py + random.nextInt(altura),
+                paraDireita ? 3 : -3, 0, 10);
+        }
+    }
+
+    public void emitirExplosao(int px, int py) {
+        for (int i = 0; i < 48; i++) {
+            double angulo = random.nextDouble() * Math.PI * 2;
+            double velocidade = 1.5 + random.nextDouble() * 3.5;
+            emitir(FAGULHA, px, py, (float) (Math.cos(angulo) * velocidade),
+                (float) (Math.sin(angulo) * velocidade) - 1.5f, 20 + random.nextInt(16));
+        }
+        for (int i = 0; i < 16; i++) {
+            emitir(FUMACA, px + random.nextInt(21) - 10, py + random.nextInt(21) - 10,
+                (float) (random.nextDouble() - 0.5), -0.5f, 40 + random.nextInt(20));
+        }
+    }
+
+    // Gotas saindo da base do Slime quando ele cai
+    public void emitirPouso(int px, int py, int largura) {
+        for (int i = 0; i < 14; i++) {
+            float deslocamento = (float) (random.nextDouble() - 0.5);
+            emitir(GOSMA, px + deslocamento * largura, py, deslocamento * 4,
+                -2f - (float) random.nextDouble() * 2f, 18 + random.nextInt(10));
+        }
+    }
+
+    public void atualizar() {
+        int i = 0;
+        while (i < total) {
+            if (--vida[i] <= 0) {
+                remover(i);
+                continue;
+            }
+            byte t = tipo[i];
+            xAnterior[i] = x[i];
+            yAnterior[i] = y[i];
+            vy[i] += GRAVIDADE[t];
+            vx[i] *= ARRASTO[t];
+            vy[i] *= ARRASTO[t];
+            x[i] += vx[i];
+            y[i] += vy[i];
+            i++;
+        }
+    }
+
+    private void remover(int i) {
+        int ultimo = --total;
+        x[i] = x[ultimo];
+        y[i] = y[ultimo];
+        xAnterior[i] = xAnterior[ultimo];
+        yAnterior[i] = yAnterior[ultimo];
+        vx[i] = vx[ultimo];
+        vy[i] = vy[ultimo];
+        vida[i] = vida[ultimo];
+        tipo[i] = tipo[ultimo];
+    }
+
+    public void limpar() {
+        total = 0;
+    }
+
+    public void capturar(RenderSnapshot snapshot) {
+        snapshot.copiarParticulas(total, xAnterior, yAnterior, x, y, tipo, imagens, cores, TAMANHO);
+    }
+
+    public int getTotal() { return total; }
+    public int getCapacidade() { return capacidade; }
+    public long getDescartadas() { return descartadas; }
+}
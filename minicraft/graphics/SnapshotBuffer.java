@@ -0,0 +1,37 @@
+package minicraft.graphics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Troca de snapshots entre a thread do jogo e a de render sem bloqueio.
+// Cada lado é dono de um snapshot; um terceiro fica no slot de troca, de modo que
+// quem escreve nunca espera quem lê e o leitor sempre pega o tick mais recente.
+public class SnapshotBuffer {
+    private static final int NOVO = 1 << 2;
+    private static final int INDICE = NOVO - 1;
+
+    private final RenderSnapshot[] snapshots = {
+        new RenderSnapshot(), new RenderSnapshot(), new RenderSnapshot()
+    };
+    private final AtomicInteger meio = new AtomicInteger(1);
+    private int indiceEscrita = 0;
+    private int indiceLeitura = 2;
+    private boolean publicouAlgum = false;
+
+    // Usado apenas pela thread do jogo
+    public RenderSnapshot paraEscrita() {
+        return snapshots[indiceEscrita];
+    }
+
+    public void publicar() {
+        indiceEscrita = meio.getAndSet(indiceEscrita | NOVO) & INDICE;
+    }
+
+    // Usado apenas pela thread de render. Retorna null até o primeiro snapshot ser publicado.
+    public RenderSnapshot paraLeitura() {
+        if ((meio.get() & NOVO) != 0) {
+            indiceLeitura = meio.getAndSet(indiceLeitura) & INDICE;
+            publicouAlgum = true;
+        }
+        return publicouAlgum ? snapshots[indiceLeitura] : null;
+    }
+}
@@ -1,25 +1,65 @@
 package minicraft.graphics;
 
+import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
-import javax.imageio.ImageIO;
+import java.util.IdentityHashMap;
 
 public class SpriteSheet {
+    // Índice do lado nas tabelas de animação com as duas orientações
+    public static final int DIREITA = 0;
+    public static final int ESQUERDA = 1;
+
     private BufferedImage sheet;
     private int spriteWidth, spriteHeight;
 
-    public SpriteSheet(String path, int spriteWidth, int spriteHeight) {
+    public SpriteSheet(BufferedImage sheet, int spriteWidth, int spriteHeight) {
+        this.sheet = sheet;
         this.spriteWidth = spriteWidth;
         this.spriteHeight = spriteHeight;
-        try {
-            sheet = ImageIO.read(new File(path));
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
     }
 
     public BufferedImage getSprite(int x, int y) {
         return sheet.getSubimage(x, y, spriteWidth, spriteHeight);
     }
+
+    public static int lado(boolean paraDireita) {
+        return paraDireita ? DIREITA : ESQUERDA;
+    }
+
+    public static BufferedImage espelhar(BufferedImage imagem) {
+        int w = imagem.getWidth();
+        int h = imagem.getHeight();
+        BufferedImage espelhada = AssetManager.criarImagem(w, h, imagem.getTransparency());
+        Graphics2D g2d = espelhada.createGraphics();
+        g2d.drawImage(imagem, 0, 0, w, h, w, 0, 0, h, null);
+        g2d.dispose();
+        return espelhada;
+    }
+
+    // [lado][quadro]: os quadros originais olhando para a direita e as cópias espelhadas
+    public static BufferedImage[][] comEspelhados(BufferedImage[] quadros) {
+        BufferedImage[] espelhados = new BufferedImage[quadros.length];
+        for (int i = 0; i < quadros.length; i++) {
+            espelhados[i] = espelhar(quadros[i]);
+        }
+        return new BufferedImage[][] {quadros, espelhados};
+    }
+
+    // [lado][estado][quadro] a partir de [estado][quadro]. Estados que compartilham o mesmo
+    // array de quadros continuam compartilhando a versão espelhada.
+    public static BufferedImage[][][] comEspelhadas(BufferedImage[][] animacoes) {
+        IdentityHashMap<BufferedImage[], BufferedImage[]> feitos = new IdentityHashMap<>();
+        BufferedImage[][] espelhadas = new BufferedImage[animacoes.length][];
+        for (int e = 0; e < animacoes.length; e++) {
+            BufferedImage[] quadros = animacoes[e];
+            if (quadros == null) continue;
+            BufferedImage[] espelhados = feitos.get(quadros);
+            if (espelhados == null) {
+                espelhados = comEspelhados(quadros)[ESQUERDA];
+                feitos.put(quadros, espelhados);
+            }
+            espelhadas[e] = espelhados;
+        }
+        return new BufferedImage[][][] {animacoes, espelhadas};
+    }
 }
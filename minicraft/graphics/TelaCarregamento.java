@@ -0,0 +1,30 @@
+package minicraft.graphics;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics;
+
+// Barra de progresso mostrada enquanto o PreCarregador decodifica as imagens
+public class TelaCarregamento {
+    private static final Font FONTE = new Font(Font.MONOSPACED, Font.PLAIN, 14);
+    private static final int LARGURA_BARRA = 400;
+    private static final int ALTURA_BARRA = 16;
+
+    public static void desenhar(Graphics g, int largura, int altura, PreCarregador carga) {
+        g.setColor(Color.BLACK);
+        g.fillRect(0, 0, largura, altura);
+
+        int total = Math.max(1, carga.getTotal());
+        int x = (largura - LARGURA_BARRA) / 2;
+        int y = altura / 2;
+        g.setColor(Color.DARK_GRAY);
+        g.fillRect(x, y, LARGURA_BARRA, ALTURA_BARRA);
+        g.setColor(new Color(110, 200, 90));
+        g.fillRect(x, y, LARGURA_BARRA * carga.getConcluidos() / total, ALTURA_BARRA);
+
+        g.setFont(FONTE);
+        g.setColor(Color.WHITE);
+        g.drawString("Carregando " + carga.getConcluidos() + "/" + carga.getTotal(), x, y - 10);
+        g.drawString(carga.getUltimo(), x, y + ALTURA_BARRA + 20);
+    }
+}
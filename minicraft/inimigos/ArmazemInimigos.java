@@ -0,0 +1,390 @@
+package minicraft.inimigos;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import minicraft.core.GameClock;
+import minicraft.core.RodaTemporizadores;
+import minicraft.graphics.ClipeAnimacao;
+import minicraft.graphics.ConjuntoAnimacoes;
+import minicraft.player.Player;
+
+// Estado de todos os inimigos em colunas de tipos primitivos, uma posição por inimigo.
+// Creeper, Slime e Zumbi são só fachadas (armazém + índice) sobre estas colunas, e o
+// comportamento do Creeper e do Zumbi é uma tabela de MaquinaEstados (o do Slime é uma
+// passada escrita à mão). O tick do mundo percorre os inimigos agrupados por tipo, um
+// tipo de cada vez, sem passar pelos objetos.
+public class ArmazemInimigos {
+    public static final byte CREEPER = 0;
+    public static final byte SLIME = 1;
+    public static final byte ZUMBI = 2;
+    private static final int TIPOS = 3;
+    // Sem tabela para o Slime, que tem passada própria
+    private static final MaquinaEstados[] MAQUINAS = {Creeper.MAQUINA, null, Zumbi.MAQUINA};
+    private static final int TAMANHO_CONTAGEM = Math.max(Creeper.MAQUINA.tamanhoContagem(), Zumbi.MAQUINA.tamanhoContagem());
+    // O que não muda entre inimigos do mesmo tipo fica no arquétipo; só velocidade e hitbox,
+    // lidas a todo tick, são copiadas para colunas quando o inimigo nasce
+    private static final Arquetipo[] ARQUETIPOS = {Arquetipo.get(CREEPER), Arquetipo.get(SLIME), Arquetipo.get(ZUMBI)};
+
+    // Eventos do tick para o mundo reagir (partículas etc.) fora da atualização, que pode
+    // estar rodando em paralelo
+    public static final byte EVENTO_EXPLOSAO = 1;
+    public static final byte EVENTO_POUSO = 2;
+
+    // Temporizadores de cada inimigo, no máximo um de cada por vez. Vencem numa roda de
+    // temporizadores do mundo e ficam marcados em 'vencidos' até o inimigo agendar de novo.
+    static final int TEMPORIZADOR_ESPERA = 0; // Fim do estado atual: pulo do Slime, pavio do Creeper
+    static final int TEMPORIZADOR_INVULNERAVEL = 1;
+    static final int TEMPORIZADOR_ATAQUE = 2;
+    private static final int TEMPORIZADORES = 3;
+    private static final int CANCELAR = 0;
+
+    int total = 0;
+
+    // Índices de cada tipo, na ordem em que entraram, e o rascunho da máquina do tipo nas
+    // mesmas posições
+    private final int[][] porTipo = new int[TIPOS][];
+    private final int[] quantidadePorTipo = new int[TIPOS];
+    private final MaquinaEstados.Passada[] passadas = new MaquinaEstados.Passada[TIPOS];
+    // Contagem por estado da atualização sequencial; os lotes paralelos trazem a sua
+    private final int[] contagem = novaContagem();
+
+    // Clipes de cada tipo, compartilhados por todos os inimigos dele. A cabeça de leitura de
+    // cada inimigo são as colunas frame e tempoAnimacao, no clipe do estado atual.
+    private final ConjuntoAnimacoes[] animacoes = new ConjuntoAnimacoes[TIPOS];
+
+    // Comuns a todos os tipos
+    byte[] tipo;
+    byte[] estado;
+    byte[] direcao;
+    byte[] eventos;
+    boolean[] vivo;
+    boolean[] jogadorProximo;
+    int[] x, y;
+    int[] xAnterior, yAnterior;
+    int[] vida;
+    int[] velocidade;
+    int[] largura, altura;
+    int[] frame;
+    float[] tempoAnimacao;
+    float[] knockbackX, knockbackY;
+
+    // Creeper
+    byte[] estadoAnterior;
+
+    // Slime
+    boolean[] noAr;
+    float[] alturaPulo;
+    float[] velocidadeHorizontal;
+    float[] inicioPuloY;
+    int[] direcaoPulo;
+
+    // Temporizadores: bits dos vencidos e dos que mudaram neste tick; o atraso pedido e a alça
+    // na roda ficam em TEMPORIZADORES posições seguidas por inimigo
+    byte[] vencidos;
+    byte[] mudancasTemporizador;
+    int[] atrasoPendente;
+    int[] alcaTemporizador;
+    private GameClock relogio;
+    private RodaTemporizadores temporizadores;
+    private float deltaTime = 1.0f / 60;
+    // Quem tem pedido para a roda, cada um uma vez até o próximo registrarTemporizadores;
+    // o contador é atômico porque a fase paralela também agenda
+    private int[] pendentes;
+    private final AtomicInteger totalPendentes = new AtomicInteger();
+
+    // Tempo acumulado somando deltaTime tick a tick, em float, como os acumuladores dos
+    // inimigos faziam: acumulado[n] é a soma depois de n ticks. ticksPara consulta a tabela
+    // em vez de refazer a soma a cada agendamento.
+    private static final int TICKS_TABELA = 1 << 12;
+    private static final float[] ACUMULADO_PADRAO = acumular(1.0f / 60);
+    private float[] acumulado = ACUMULADO_PADRAO;
+
+    // Na atualização paralela o dano ao jogador fica aqui e é aplicado depois, em ordem
+    private boolean adiarDano = false;
+    private int[] danoPendente;
+
+    public ArmazemInimigos(int capacidade) {
+        alocar(Math.max(1, capacidade));
+    }
+
+    int adicionar(Arquetipo arquetipo, int xInicial, int yInicial) {
+        if (total == tipo.length) alocar(total * 2);
+        int i = total++;
+        tipo[i] = arquetipo.getTipo();
+        x[i] = xInicial;
+        y[i] = yInicial;
+        xAnterior[i] = xInicial;
+        yAnterior[i] = yInicial;
+        vida[i] = arquetipo.vida;
+        velocidade[i] = arquetipo.velocidade;
+        largura[i] = arquetipo.largura;
+        altura[i] = arquetipo.altura;
+        vivo[i] = true;
+        jogadorProximo[i] = true;
+        direcao[i] = 1;
+        registrarTipo(i);
+        return i;
+    }
+
+    private void registrarTipo(int i) {
+        int t = tipo[i];
+        int n = quantidadePorTipo[t];
+        if (porTipo[t] == null) {
+            porTipo[t] = new int[Math.max(4, tipo.length)];
+            if (MAQUINAS[t] != null) passadas[t] = new MaquinaEstados.Passada(porTipo[t].length);
+        } else if (n == porTipo[t].length) {
+            porTipo[t] = Arrays.copyOf(porTipo[t], n * 2);
+            if (passadas[t] != null) passadas[t].garantir(n * 2);
+        }
+        porTipo[t][n] = i;
+        quantidadePorTipo[t] = n + 1;
+    }
+
+    // Um tick dos inimigos vivos das posições [inicio, fim) da ordem agrupada por tipo
+    // (todos os Creepers, depois os Slimes, depois os Zumbis). Cada tipo do intervalo é
+    // uma só passada da sua tabela; a ordem entre tipos só muda a ordem do dano ao jogador,
+    // que quem chama deve adiar para aplicar na ordem dos índices.
+    public void atualizar(Player player, float deltaTime, int inicio, int fim) {
+        atualizar(player, deltaTime, inicio, fim, contagem);
+    }
+
+    // Mesmo tick com a contagem de um lote (de novaContagem()), para lotes paralelos não
+    // dividirem o rascunho
+    public void atualizar(Player player, float deltaTime, int inicio, int fim, int[] contagem) {
+        int base = 0;
+        for (int t = 0; t < TIPOS && base < fim; t++) {
+            int n = quantidadePorTipo[t];
+            int de = Math.max(inicio - base, 0);
+            int ate = Math.min(fim - base, n);
+            if (de < ate && t == SLIME) Slime.atualizar(this, porTipo[t], de, ate, player, deltaTime);
+            else if (de < ate) MAQUINAS[t].executar(this, porTipo[t], passadas[t], contagem, de, ate, player, deltaTime);
+            base += n;
+        }
+    }
+
+    public static int[] novaContagem() {
+        return new int[TAMANHO_CONTAGEM];
+    }
+
+    public void atualizar(int i, Player player, float deltaTime) {
+        if (!vivo[i]) return;
+        if (tipo[i] == SLIME) Slime.atualizar(this, i, player, deltaTime);
+        else MAQUINAS[tipo[i]].executar(this, i, player, deltaTime);
+    }
+
+    Arquetipo arquetipo(int i) {
+        return ARQUETIPOS[tipo[i]];
+    }
+
+    void usarAnimacoes(byte tipoInimigo, ConjuntoAnimacoes conjunto) {
+        animacoes[tipoInimigo] = conjunto;
+    }
+
+    ClipeAnimacao clipe(int i) {
+        return animacoes[tipo[i]].getClipe(estado[i]);
+    }
+
+    // Um tick da animação do estado atual; devolve true se trocou de quadro
+    boolean avancarAnimacao(int i, float deltaTime) {
+        tempoAnimacao[i] += deltaTime;
+        return trocarQuadro(i);
+    }
+
+    // Troca de quadro se o tempo no atual já venceu, sem somar tempo
+    boolean trocarQuadro(int i) {
+        ClipeAnimacao c = clipe(i);
+        if (!c.venceu(frame[i], tempoAnimacao[i])) return false;
+        frame[i] = c.seguinte(frame[i]);
+        tempoAnimacao[i] = 0;
+        return true;
+    }
+
+    // Liga o armazém ao relógio do mundo; a partir daqui os temporizadores dos inimigos correm
+    public void usarRelogio(GameClock relogio) {
+        this.relogio = relogio;
+        this.deltaTime = relogio.getDeltaTime();
+        this.acumulado = ACUMULADO_PADRAO[1] == deltaTime ? ACUMULADO_PADRAO : acumular(deltaTime);
+        this.temporizadores = new RodaTemporizadores(relogio.getTick(), this::dispararTemporizador);
+    }
+
+    // Chamado no começo do tick, antes do jogador: marca tudo o que vence até o tick atual
+    public void avancarTemporizadores() {
+        temporizadores.avancar(relogio.getTick());
+    }
+
+    void iniciarTemporizadores(int i) {
+        switch (tipo[i]) {
+            case CREEPER: Creeper.iniciarTemporizadores(this, i); break;
+            case SLIME: Slime.iniciarTemporizadores(this, i); break;
+            case ZUMBI: Zumbi.iniciarTemporizadores(this, i); break;
+            default: break;
+        }
+    }
+
+    // Só guarda o pedido; pode ser chamado da fase paralela, para o próprio índice
+    void agendar(int i, int temporizador, int atrasoTicks) {
+        vencidos[i] &= ~(1 << temporizador);
+        atrasoPendente[i * TEMPORIZADORES + temporizador] = Math.max(1, atrasoTicks);
+        marcarMudanca(i, temporizador);
+    }
+
+    void cancelar(int i, int temporizador) {
+        vencidos[i] &= ~(1 << temporizador);
+        atrasoPendente[i * TEMPORIZADORES + temporizador] = CANCELAR;
+        marcarMudanca(i, temporizador);
+    }
+
+    private void marcarMudanca(int i, int temporizador) {
+        if (mudancasTemporizador[i] == 0) pendentes[totalPendentes.getAndIncrement()] = i;
+        mudancasTemporizador[i] |= 1 << temporizador;
+    }
+
+    boolean venceu(int i, int temporizador) {
+        return (vencidos[i] & (1 << temporizador)) != 0;
+    }
+
+    private static float[] acumular(float deltaTime) {
+        float[] soma = new float[TICKS_TABELA];
+        float tempo = 0;
+        for (int n = 0; n < TICKS_TABELA; n++) {
+            soma[n] = tempo;
+            tempo += deltaTime;
+        }
+        return soma;
+    }
+
+    // Menor número de ticks cuja soma de deltaTime chega a 'segundos'. A divisão acerta ou
+    // erra por um; a tabela corrige para o valor exato da soma em float.
+    int ticksPara(float segundos) {
+        float[] soma = acumulado;
+        int ultimo = soma.length - 1;
+        if (segundos > soma[ultimo]) {
+            // Além da tabela: continua a soma de onde ela para
+            float tempo = soma[ultimo];
+            int ticks = ultimo;
+            while (tempo < segundos) {
+                tempo += deltaTime;
+                ticks++;
+            }
+            return ticks;
+        }
+        int n = Math.max(0, Math.min(ultimo, (int) Math.ceil(segundos / deltaTime)));
+        while (n > 0 && soma[n - 1] >= segundos) n--;
+        while (soma[n] < segundos) n++;
+        return n;
+    }
+
+    // Leva para a roda os pedidos feitos desde a última chamada; na thread do jogo, fora da
+    // fase paralela. Só passa por quem agendou ou cancelou algo.
+    public void registrarTemporizadores() {
+        if (temporizadores == null) return;
+        int quantidade = totalPendentes.get();
+        for (int n = 0; n < quantidade; n++) {
+            registrar(pendentes[n]);
+        }
+        totalPendentes.set(0);
+    }
+
+    private void registrar(int i) {
+        int mudancas = mudancasTemporizador[i];
+        mudancasTemporizador[i] = 0;
+        long agora = relogio.getTick();
+        for (int t = 0; t < TEMPORIZADORES; t++) {
+            if ((mudancas & (1 << t)) == 0) continue;
+            int k = i * TEMPORIZADORES + t;
+            if (alcaTemporizador[k] != 0) {
+                temporizadores.cancelar(alcaTemporizador[k]);
+                alcaTemporizador[k] = 0;
+            }
+            if (atrasoPendente[k] != CANCELAR) {
+                alcaTemporizador[k] = temporizadores.agendar(agora + atrasoPendente[k], i, t);
+            }
+        }
+    }
+
+    private void dispararTemporizador(int i, int temporizador) {
+        alcaTemporizador[i * TEMPORIZADORES + temporizador] = 0;
+        vencidos[i] |= 1 << temporizador;
+    }
+
+    public void marcarPosicaoAnterior() {
+        System.arraycopy(x, 0, xAnterior, 0, total);
+        System.arraycopy(y, 0, yAnterior, 0, total);
+    }
+
+    void causarDano(int i, Player player, int dano) {
+        if (!adiarDano) {
+            player.tomarDano(dano);
+            return;
+        }
+        // Cada inimigo causa no máximo um dano por tick
+        danoPendente[i] += dano;
+    }
+
+    public void setAdiarDano(boolean adiarDano) {
+        this.adiarDano = adiarDano;
+    }
+
+    public void aplicarDanosPendentes(Player player) {
+        for (int i = 0; i < total; i++) {
+            if (danoPendente[i] != 0) {
+                player.tomarDano(danoPendente[i]);
+                danoPendente[i] = 0;
+            }
+        }
+    }
+
+    // Devolve e limpa os eventos do inimigo desde a última consulta
+    public int consumirEventos(int i) {
+        int e = eventos[i];
+        eventos[i] = 0;
+        return e;
+    }
+
+    public int getTotal() { return total; }
+    public int getLarguraHitbox(int i) { return largura[i]; }
+    public int getAlturaHitbox(int i) { return altura[i]; }
+    public int getX(int i) { return x[i]; }
+    public int getY(int i) { return y[i]; }
+    public boolean estaVivo(int i) { return vivo[i]; }
+    public void setJogadorProximo(int i, boolean proximo) { jogadorProximo[i] = proximo; }
+
+    private void alocar(int capacidade) {
+        tipo = redimensionar(tipo, capacidade);
+        estado = redimensionar(estado, capacidade);
+        direcao = redimensionar(direcao, capacidade);
+        eventos = redimensionar(eventos, capacidade);
+        vivo = redimensionar(vivo, capacidade);
+        jogadorProximo = redimensionar(jogadorProximo, capacidade);
+        x = redimensionar(x, capacidade);
+        y = redimensionar(y, capacidade);
+        xAnterior = redimensionar(xAnterior, capacidade);
+        yAnterior = redimensionar(yAnterior, capacidade);
+        vida = redimensionar(vida, capacidade);
+        velocidade = redimensionar(velocidade, capacidade);
+        largura = redimensionar(largura, capacidade);
+        altura = redimensionar(altura, capacidade);
+        frame = redimensionar(frame, capacidade);
+        tempoAnimacao = redimensionar(tempoAnimacao, capacidade);
+        knockbackX = redimensionar(knockbackX, capacidade);
+        knockbackY = redimensionar(knockbackY, capacidade);
+        estadoAnterior = redimensionar(estadoAnterior, capacidade);
+        noAr = redimensionar(noAr, capacidade);
+        alturaPulo = redimensionar(alturaPulo, capacidade);
+        velocidadeHorizontal = redimensionar(velocidadeHorizontal, capacidade);
+        inicioPuloY = redimensionar(inicioPuloY, capacidade);
+        direcaoPulo = redimensionar(direcaoPulo, capacidade);
+        danoPendente = redimensionar(danoPendente, capacidade);
+        vencidos = redimensionar(vencidos, capacidade);
+        mudancasTemporizador = redimensionar(mudancasTemporizador, capacidade);
+        pendentes = redimensionar(pendentes, capacidade);
+        atrasoPendente = redimensionar(atrasoPendente, capacidade * TEMPORIZADORES);
+        alcaTemporizador = redimensionar(alcaTemporizador, capacidade * TEMPORIZADORES);
+    }
+
+    private static int[] redimensionar(int[] a, int n) { return a == null ? new int[n] : Arrays.copyOf(a, n); }
+    private static float[] redimensionar(float[] a, int n) { return a == null ? new float[n] : Arrays.copyOf(a, n); }
+    private static byte[] redimensionar(byte[] a, int n) { return a == null ? new byte[n] : Arrays.copyOf(a, n); }
+    private static boolean[] redimensionar(boolean[] a, int n) { return a == null ? new boolean[n] : Arrays.copyOf(a, n); }
+}
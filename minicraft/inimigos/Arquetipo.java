@@ -0,0 +1,112 @@
+package minicraft.inimigos;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import minicraft.core.Log;
+import minicraft.core.Log.Categoria;
+import minicraft.core.Log.Nivel;
+
+// O que é igual para todos os inimigos de um tipo: vida inicial, velocidade, raio de
+// detecção, hitbox e os números de balanceamento do comportamento. Vem de um arquivo
+// .properties lido uma vez por processo; cada tipo tem um único Arquetipo imutável,
+// compartilhado por todas as instâncias, e o ArmazemInimigos guarda o que muda (mais uma
+// cópia da velocidade e da hitbox, lidas a todo tick).
+public final class Arquetipo {
+    private static final String CAMINHO_PADRAO = "minicraft/inimigos/inimigos.properties";
+    // Na ordem de ArmazemInimigos.CREEPER, SLIME e ZUMBI
+    private static final String[] NOMES = {"creeper", "slime", "zumbi"};
+
+    private final String nome;
+    private final byte tipo;
+    final int vida;
+    final int velocidade;
+    final int raioDetecao;
+    final int largura, altura;
+    private final Map<String, String> parametros;
+
+    private Arquetipo(String nome, byte tipo, Map<String, String> parametros) {
+        this.nome = nome;
+        this.tipo = tipo;
+        this.parametros = Collections.unmodifiableMap(parametros);
+        this.vida = inteiro("vida");
+        this.velocidade = inteiro("velocidade");
+        this.raioDetecao = inteiro("raioDetecao");
+        this.largura = inteiro("largura");
+        this.altura = inteiro("altura");
+    }
+
+    // Carregado na primeira consulta, por quem chegar primeiro (inicialização de classe)
+    private static final class Carregados {
+        static final Arquetipo[] TODOS = carregar(System.getProperty("minicraft.inimigos", CAMINHO_PADRAO));
+    }
+
+    public static Arquetipo get(byte tipo) {
+        return Carregados.TODOS[tipo];
+    }
+
+    public static Arquetipo[] carregar(String caminho) {
+        Properties arquivo = new Properties();
+        try (Reader in = new InputStreamReader(new FileInputStream(caminho), StandardCharsets.UTF_8)) {
+            arquivo.load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Falha ao carregar arquétipos de " + caminho, e);
+        }
+
+        Arquetipo[] arquetipos = new Arquetipo[NOMES.length];
+        for (byte t = 0; t < NOMES.length; t++) {
+            String prefixo = NOMES[t] + ".";
+            Map<String, String> parametros = new HashMap<>();
+            for (String chave : arquivo.stringPropertyNames()) {
+                if (chave.startsWith(prefixo)) parametros.put(chave.substring(prefixo.length()), arquivo.getProperty(chave).trim());
+            }
+            arquetipos[t] = new Arquetipo(NOMES[t], t, parametros);
+        }
+        if (Log.ativo(Categoria.INIMIGOS, Nivel.DEBUG)) Log.debug(Categoria.INIMIGOS, "Arquétipos carregados de " + caminho);
+        return arquetipos;
+    }
+
+    public int inteiro(String chave) {
+        String valor = valor(chave);
+        try {
+            return Integer.parseInt(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException(nome + "." + chave + " não é um inteiro: " + valor, e);
+        }
+    }
+
+    public float decimal(String chave) {
+        String valor = valor(chave);
+        try {
+            return Float.parseFloat(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException(nome + "." + chave + " não é um número: " + valor, e);
+        }
+    }
+
+    private String valor(String chave) {
+        String valor = parametros.get(chave);
+        if (valor == null) throw new IllegalStateException("Arquétipo sem " + nome + "." + chave);
+        return valor;
+    }
+
+    public String getNome() { return nome; }
+    public byte getTipo() { return tipo; }
+    public int getVida() { return vida; }
+    public int getVelocidade() { return velocidade; }
+    public int getRaioDetecao() { return raioDetecao; }
+    public int getLargura() { return largura; }
+    public int getAltura() { return altura; }
+
+    @Override
+    public String toString() {
+        return nome + parametros;
+    }
+}
@@ -1,102 +1,129 @@
 package minicraft.inimigos;
 
 import java.awt.Graphics;
+import minicraft.graphics.RenderSnapshot;
 import minicraft.player.Player;
 
+// Fachada sobre uma posição de ArmazemInimigos. O estado fica nas colunas do armazém e
+// os números do tipo no Arquetipo; o objeto guarda só a referência, o índice e o que é
+// de render (imagens).
 public abstract class Inimigo {
-    protected int x, y;
-    protected int vida;
-    protected int velocidade;
-    protected int raioDetecao;
-    protected boolean vivo;
-    protected final int distanciaMinima = 20;
-    protected int larguraHitbox = 18;
-    protected int alturaHitbox = 18;
-    protected int danoAtaque = 10;
-    protected float tempoAtaque = 0;
-    protected float intervaloAtaque = 1.0f; // 1 segundo entre ataques
-    protected int alcanceAtaque = 25;
-
-    public Inimigo(int x, int y, int vida, int velocidade) {
-        this.x = x;
-        this.y = y;
-        this.vida = vida;
-        this.velocidade = velocidade;
-        this.raioDetecao = 250;
-        this.vivo = true;
-    }
-
-    public void update(Player player) {
-        if (!vivo) return;
-
-        float deltaTime = 0.0167f; // Aproximadamente 60 FPS
-        double distancia = calcularDistancia(player.getCentroX(), player.getCentroY());
-
-        if (distancia <= raioDetecao) {
-            if (distancia > alcanceAtaque) {
-                moverEmDirecao(player.getCentroX(), player.getCentroY());
-            } else {
-                atacar(player, deltaTime);
-            }
-        }
+    protected static final int DISTANCIA_MINIMA = 20;
+
+    protected final ArmazemInimigos dados;
+    protected final int indice;
 
-        tempoAtaque += deltaTime;
+    // Nasce direto no armazém de quem vai atualizá-lo (o do mundo, no jogo)
+    public Inimigo(Arquetipo arquetipo, ArmazemInimigos dados, int x, int y) {
+        this.dados = dados;
+        this.indice = dados.adicionar(arquetipo, x, y);
+        dados.iniciarTemporizadores(indice);
+        dados.registrarTemporizadores();
     }
 
-    public abstract void render(Graphics g, int cameraX, int cameraY);
+    public void update(Player player, float deltaTime) {
+        dados.atualizar(indice, player, deltaTime);
+    }
 
-    public void tomarDano(int dano) {
-        vida -= dano;
-        if (vida <= 0) {
-            vivo = false;
-        }
+    public abstract void render(Graphics g, int cameraX, int cameraY, float alpha);
+
+    public void render(Graphics g, int cameraX, int cameraY) {
+        render(g, cameraX, cameraY, 1.0f);
+    }
+
+    // Registra no snapshot o que render() desenharia, para a thread de render
+    public abstract void capturar(RenderSnapshot snapshot);
+
+    // Chamado antes de cada tick para permitir interpolar a posição no render
+    public void marcarPosicaoAnterior() {
+        dados.xAnterior[indice] = dados.x[indice];
+        dados.yAnterior[indice] = dados.y[indice];
+    }
+
+    protected int interpolarX(float alpha) {
+        int xAnterior = dados.xAnterior[indice];
+        return Math.round(xAnterior + (dados.x[indice] - xAnterior) * alpha);
+    }
+
+    protected int interpolarY(float alpha) {
+        int yAnterior = dados.yAnterior[indice];
+        return Math.round(yAnterior + (dados.y[indice] - yAnterior) * alpha);
     }
 
-    protected void atacar(Player player, float deltaTime) {
-        if (tempoAtaque >= intervaloAtaque && estaColidindoCom(player)) {
-            player.tomarDano(danoAtaque);
-            tempoAtaque = 0;
+    public void tomarDano(int dano) {
+        dados.vida[indice] -= dano;
+        if (dados.vida[indice] <= 0) {
+            dados.vivo[indice] = false;
         }
     }
 
     protected double calcularDistancia(int targetX, int targetY) {
-        return Math.sqrt(Math.pow(x - targetX, 2) + Math.pow(y - targetY, 2));
+        return calcularDistancia(dados, indice, targetX, targetY);
+    }
+
+    protected static double calcularDistancia(ArmazemInimigos d, int i, int targetX, int targetY) {
+        return Math.sqrt(Math.pow(d.x[i] - targetX, 2) + Math.pow(d.y[i] - targetY, 2));
+    }
+
+    // Evita a raiz quadrada para quem está longe do jogador
+    protected static double distanciaAoJogador(ArmazemInimigos d, int i, int targetX, int targetY) {
+        return d.jogadorProximo[i] ? calcularDistancia(d, i, targetX, targetY) : Double.POSITIVE_INFINITY;
+    }
+
+    public void setJogadorProximo(boolean jogadorProximo) {
+        dados.jogadorProximo[indice] = jogadorProximo;
     }
 
     protected void moverEmDirecao(int targetX, int targetY) {
-        double dx = targetX - x;
-        double dy = targetY - y;
+        moverEmDirecao(dados, indice, targetX, targetY);
+    }
+
+    protected static void moverEmDirecao(ArmazemInimigos d, int i, int targetX, int targetY) {
+        double dx = targetX - d.x[i];
+        double dy = targetY - d.y[i];
         double distancia = Math.sqrt(dx * dx + dy * dy);
 
-        if (distancia <= distanciaMinima) return;
+        if (distancia <= DISTANCIA_MINIMA) return;
 
-        double step = Math.min(velocidade, distancia - distanciaMinima);
+        double step = Math.min(d.velocidade[i], distancia - DISTANCIA_MINIMA);
         double dirX = dx / distancia;
         double dirY = dy / distancia;
 
-        x += (int)(dirX * step);
-        y += (int)(dirY * step);
+        d.x[i] += (int)(dirX * step);
+        d.y[i] += (int)(dirY * step);
+    }
+
+    // Limita a posição à área do jogo
+    protected static void limitarPosicao(ArmazemInimigos d, int i) {
+        d.x[i] = Math.max(0, Math.min(d.x[i], 1200 - d.largura[i]));
+        d.y[i] = Math.max(0, Math.min(d.y[i], 1000 - d.altura[i]));
     }
 
     public int getLarguraHitbox() {
-        return larguraHitbox;
+        return dados.getLarguraHitbox(indice);
     }
 
     public int getAlturaHitbox() {
-        return alturaHitbox;
+        return dados.getAlturaHitbox(indice);
     }
 
     public int getHitboxX() {
-        return x + (larguraHitbox / 2);
+        return dados.x[indice] + (getLarguraHitbox() / 2);
     }
 
     public int getHitboxY() {
-        return y + (alturaHitbox / 2);
+        return dados.y[indice] + (getAlturaHitbox() / 2);
     }
 
     public boolean estaColidindoCom(Player player) {
-        int centroX = x + (larguraHitbox / 2);
-        int centroY = y + (alturaHitbox / 2);
+        return estaColidindoCom(dados, indice, player);
+    }
+
+    protected static boolean estaColidindoCom(ArmazemInimigos d, int i, Player player) {
+        int larguraHitbox = d.getLarguraHitbox(i);
+        int alturaHitbox = d.getAlturaHitbox(i);
+        int centroX = d.x[i] + (larguraHitbox / 2);
+        int centroY = d.y[i] + (alturaHitbox / 2);
 
         return centroX < player.getX() + player.getLarguraHitbox() &&
                centroX + larguraHitbox > player.getX() &&
@@ -104,7 +131,25 @@ public abstract class Inimigo {
                centroY + alturaHitbox > player.getY();
     }
 
-    public int getX() { return x; }
-    public int getY() { return y; }
-    public boolean estaVivo() { return vivo; }
-}
\ No newline at end of file
+    // Círculo de 'raio' no centro da hitbox contra o círculo inscrito na largura do jogador
+    protected static boolean colideCirculo(ArmazemInimigos d, int i, Player player, int raio) {
+        int centroX = d.x[i] + (d.getLarguraHitbox(i) / 2);
+        int centroY = d.y[i] + (d.getAlturaHitbox(i) / 2);
+
+        int playerCenterX = player.getX() + (player.getLarguraHitbox() / 2);
+        int playerCenterY = player.getY() + (player.getAlturaHitbox() / 2);
+        int playerRadius = player.getLarguraHitbox() / 2;
+
+        double distancia = Math.sqrt(Math.pow(centroX - playerCenterX, 2) +
+                        Math.pow(centroY - playerCenterY, 2));
+
+        return distancia < (raio + playerRadius);
+    }
+
+    public ArmazemInimigos getArmazem() { return dados; }
+    public int getIndice() { return indice; }
+    public int getX() { return dados.x[indice]; }
+    public int getY() { return dados.y[indice]; }
+    public int getRaioDetecao() { return dados.arquetipo(indice).raioDetecao; }
+    public boolean estaVivo() { return dados.vivo[indice]; }
+}
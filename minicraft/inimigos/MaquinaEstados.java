@@ -0,0 +1,647 @@
+package minicraft.inimigos;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import minicraft.core.Log;
+import minicraft.core.Log.Categoria;
+import minicraft.core.Log.Nivel;
+import minicraft.player.Player;
+
+// Comportamento de um tipo de inimigo como dados: para cada estado, uma lista de regras
+// avaliadas em ordem a cada tick. Uma regra tem guardas, uma ação com parâmetros, um
+// estado de destino e o que reiniciar na animação ao trocar. O Construtor compila as
+// listas em arrays planos, e executar() é o mesmo laço para todas as tabelas: agrupa os
+// inimigos de um tipo pelo estado atual e aplica cada regra ao grupo inteiro antes de
+// passar à seguinte, em vez de interpretar a lista inteira para cada inimigo.
+//
+// Cada estado tem um corpo e um final; encerrar() numa regra pula o resto do corpo e
+// segue no final. As guardas de distância usam o valor da MEDIR_DISTANCIA do tick, que
+// cada estado faz no máximo uma vez.
+//
+// As guardas não são interpretadas uma a uma: o Construtor junta as de distância num
+// intervalo (mínimo exclusivo, máximo inclusivo), as de temporizador numa máscara e o
+// resto num campo de condições, então testar uma regra são poucas comparações.
+public final class MaquinaEstados {
+    // Guardas
+    public static final byte SEMPRE = 0;
+    public static final byte PERTO = 1;         // dentro do raio de detecção
+    public static final byte LONGE = 2;         // fora do raio de detecção
+    public static final byte PERTO_ATE = 3;     // dentro do raio e a no máximo p
+    public static final byte PERTO_ALEM = 4;    // dentro do raio e a mais de p
+    public static final byte ALEM = 5;          // a mais de p, com ou sem detecção
+    public static final byte VENCEU = 6;        // temporizador p vencido
+    public static final byte SEM_KNOCKBACK = 7;
+    public static final byte ANTERIOR_EH = 8;   // estadoAnterior == p
+
+    // Ações
+    public static final byte NADA = 0;
+    public static final byte MEDIR_DISTANCIA = 1;   // a1 = alvo
+    public static final byte KNOCKBACK = 2;         // f = fator de deslocamento
+    public static final byte LIMITAR = 3;
+    public static final byte AVANCAR_ANIMACAO = 4;
+    public static final byte VIRAR = 5;             // a1 = alvo; olha para o jogador
+    public static final byte MOVER = 6;             // a1 = alvo
+    public static final byte MOVER_VIRANDO = 7;     // a1 = alvo; olha para onde andou
+    public static final byte ATACAR = 8;            // a1 = dano, f = segundos até o próximo
+    public static final byte AGENDAR = 9;           // a1 = temporizador, f = segundos
+    public static final byte CANCELAR = 10;         // a1 = temporizador
+    public static final byte EXPLODIR = 11;         // a1 = dano, a2 = raio
+
+    // Alvos
+    public static final int ALVO_POSICAO = 0;
+    public static final int ALVO_CENTRO = 1;
+
+    // Destinos além dos estados do tipo
+    public static final int MANTER = -1;
+    public static final int ANTERIOR = -2;
+
+    // O que zerar na animação quando a regra dispara
+    public static final int REINICIAR_QUADRO = 1;
+    public static final int REINICIAR_TEMPO = 2;
+
+    // Condições compiladas das guardas que não são de distância nem de temporizador
+    private static final int CONDICAO_SEM_KNOCKBACK = 1;
+    private static final int CONDICAO_ANTERIOR = 2;
+
+    // Efeitos depois da ação; a maioria das regras não tem nenhum
+    private static final int EFEITO_DESTINO = 4;   // os bits abaixo são os de REINICIAR_*
+    private static final int EFEITO_ENCERRA = 8;
+
+    // Por inimigo, durante o tick
+    private static final int SINAL_ENCERRADO = 1;   // uma regra encerrou o corpo
+
+    private final String nome;
+    private final String[] nomesEstados;
+    // Do arquétipo do tipo, igual para todos os inimigos que a tabela percorre
+    private final int raioDetecao;
+    // Regras do estado e em [inicio[e], inicio[e + 1]); o final começa em inicioFinal[e]
+    private final int[] inicio;
+    private final int[] inicioFinal;
+    private final double[] distanciaMinima, distanciaMaxima;
+    private final byte[] exigeVencidos;
+    private final byte[] condicoes;
+    private final byte[] anterior;
+    private final byte[] acao;
+    private final int[] a1, a2;
+    private final float[] f;
+    private final int[] destino;
+    private final byte[] efeitos;
+    private final boolean[] simples;
+
+    private MaquinaEstados(Construtor c) {
+        nome = c.arquetipo.getNome();
+        nomesEstados = c.nomesEstados;
+        raioDetecao = c.arquetipo.raioDetecao;
+        int estados = nomesEstados.length;
+        int total = 0;
+        for (int e = 0; e < estados; e++) {
+            for (Regra r : c.corpo.get(e)) if (!inerte(r, e)) total++;
+            for (Regra r : c.fim.get(e)) if (!inerte(r, e)) total++;
+        }
+
+        inicio = new int[estados + 1];
+        inicioFinal = new int[estados];
+        distanciaMinima = new double[total];
+        distanciaMaxima = new double[total];
+        exigeVencidos = new byte[total];
+        condicoes = new byte[total];
+        anterior = new byte[total];
+        acao = new byte[total];
+        a1 = new int[total];
+        a2 = new int[total];
+        f = new float[total];
+        destino = new int[total];
+        efeitos = new byte[total];
+        simples = new boolean[total];
+
+        int k = 0;
+        for (int e = 0; e < estados; e++) {
+            inicio[e] = k;
+            for (Regra r : c.corpo.get(e)) if (!inerte(r, e)) copiar(r, e, k++);
+            inicioFinal[e] = k;
+            for (Regra r : c.fim.get(e)) if (!inerte(r, e)) copiar(r, e, k++);
+            validar(e, k);
+        }
+        inicio[estados] = k;
+    }
+
+    // Uma regra dada a vários estados pode não fazer nada num deles: ir para o estado em que
+    // já está, sem ação nem reinício (o "longe, volta a PARADO" de quem já está PARADO). As
+    // guardas não mudam nada, então ela nem entra na tabela desse estado.
+    private static boolean inerte(Regra r, int e) {
+        return r.acao == NADA && r.reinicio == 0 && !r.encerra && (r.destino == MANTER || r.destino == e);
+    }
+
+    private void copiar(Regra r, int e, int k) {
+        distanciaMinima[k] = r.distanciaMinima;
+        distanciaMaxima[k] = r.distanciaMaxima;
+        exigeVencidos[k] = (byte) r.exigeVencidos;
+        condicoes[k] = (byte) r.condicoes;
+        anterior[k] = (byte) r.anterior;
+        acao[k] = r.acao;
+        a1[k] = r.a1;
+        a2[k] = r.a2;
+        f[k] = r.f;
+        // Ir para o próprio estado só reescreveria a coluna com o mesmo valor
+        int destinoRegra = r.destino == e ? MANTER : r.destino;
+        destino[k] = destinoRegra;
+        int efeito = r.reinicio;
+        if (destinoRegra != MANTER) efeito |= EFEITO_DESTINO;
+        if (r.encerra) efeito |= EFEITO_ENCERRA;
+        efeitos[k] = (byte) efeito;
+        simples[k] = efeito == 0 && r.exigeVencidos == 0 && r.condicoes == 0
+            && r.distanciaMinima == Double.NEGATIVE_INFINITY && r.distanciaMaxima == Double.POSITIVE_INFINITY
+            && temLacoProprio(r.acao);
+    }
+
+    private static boolean temLacoProprio(byte acao) {
+        switch (acao) {
+            case MEDIR_DISTANCIA: case KNOCKBACK: case LIMITAR: case AVANCAR_ANIMACAO:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    // A distância é medida uma vez por tick; uma segunda medição no estado seria trabalho jogado fora
+    private void validar(int e, int fim) {
+        int medicoes = 0;
+        for (int k = inicio[e]; k < fim; k++) {
+            if (acao[k] == MEDIR_DISTANCIA) medicoes++;
+        }
+        if (medicoes > 1) throw new IllegalStateException(nome + "." + nomesEstados[e] + ": MEDIR_DISTANCIA repetida");
+    }
+
+    // Um tick dos inimigos vivos indices[de..ate), todos deste tipo. Quem começa o tick no
+    // mesmo estado forma um grupo, e cada regra do estado roda de uma vez sobre o grupo
+    // inteiro: os parâmetros da regra ficam fora do laço e a ação é a mesma a cada volta.
+    // Só as posições [de, ate) da passada são usadas, então lotes paralelos não se cruzam;
+    // a contagem por estado é de quem chama (uma por lote), com tamanhoContagem() posições.
+    void executar(ArmazemInimigos d, int[] indices, Passada passada, int[] contagem, int de, int ate,
+                  Player player, float deltaTime) {
+        int estados = nomesEstados.length;
+        // Limites de cada grupo em contagem[0..estados] e o próximo livre de cada um logo depois
+        int[] limite = contagem;
+        int livre = estados + 1;
+        Arrays.fill(limite, 0, estados + 1, 0);
+        // O estado de cada um fica nos sinais da mesma posição (-1 se morto), que
+        // executarEstado zera antes de usar; assim a segunda volta não relê as colunas
+        byte[] sinais = passada.sinais;
+        for (int n = de; n < ate; n++) {
+            int i = indices[n];
+            byte e = d.vivo[i] ? d.estado[i] : -1;
+            sinais[n] = e;
+            if (e >= 0) limite[e + 1]++;
+        }
+        limite[0] = de;
+        for (int e = 0; e < estados; e++) limite[e + 1] += limite[e];
+
+        int[] ordem = passada.ordem;
+        System.arraycopy(limite, 0, contagem, livre, estados);
+        for (int n = de; n < ate; n++) {
+            int e = sinais[n];
+            if (e >= 0) ordem[contagem[livre + e]++] = indices[n];
+        }
+        for (int e = 0; e < estados; e++) {
+            if (limite[e] < limite[e + 1]) executarEstado(d, e, passada, limite[e], limite[e + 1], player, deltaTime);
+        }
+    }
+
+    // Um inimigo sozinho, fora da passada do mundo: as mesmas regras na mesma ordem, com a
+    // distância numa variável local em vez da passada
+    void executar(ArmazemInimigos d, int i, Player player, float deltaTime) {
+        int e = d.estado[i];
+        int fimCorpo = inicioFinal[e];
+        double dist = Double.POSITIVE_INFINITY;
+
+        for (int k = inicio[e]; k < inicio[e + 1]; k++) {
+            if (dist <= distanciaMinima[k] || dist > distanciaMaxima[k]) continue;
+            int exige = exigeVencidos[k];
+            if (exige != 0 && (d.vencidos[i] & exige) != exige) continue;
+            int condicao = condicoes[k];
+            if (condicao != 0 && !condicoesValem(d, i, condicao, anterior[k])) continue;
+
+            byte acao = this.acao[k];
+            if (acao == MEDIR_DISTANCIA) dist = Inimigo.distanciaAoJogador(d, i, alvoX(player, a1[k]), alvoY(player, a1[k]));
+            else agir(d, i, acao, a1[k], a2[k], f[k], player, deltaTime);
+
+            int efeito = efeitos[k];
+            if (efeito == 0) continue;
+            aplicarEfeito(d, i, efeito, destino[k], Log.ativo(Categoria.INIMIGOS, Nivel.DEBUG));
+            // encerrar() pula o resto do corpo; o final roda igual
+            if ((efeito & EFEITO_ENCERRA) != 0 && k < fimCorpo) k = fimCorpo - 1;
+        }
+    }
+
+    private void executarEstado(ArmazemInimigos d, int e, Passada passada, int de, int ate, Player player, float deltaTime) {
+        double[] distancia = passada.distancia;
+        Arrays.fill(distancia, de, ate, Double.POSITIVE_INFINITY);
+        Arrays.fill(passada.sinais, de, ate, (byte) 0);
+        // Menor e maior distância do grupo: uma regra cujo intervalo não as alcança não vale
+        // para ninguém e nem percorre o grupo (o caso de quase todos, longe do jogador)
+        double menor = Double.POSITIVE_INFINITY, maior = Double.POSITIVE_INFINITY;
+        // Depois da medição, quem está dentro do raio de detecção fica em [de, corte); as
+        // regras só de perto ou só de longe percorrem a sua parte
+        int corte = de;
+
+        for (int k = inicio[e]; k < inicio[e + 1]; k++) {
+            if (maior <= distanciaMinima[k] || menor > distanciaMaxima[k]) continue;
+            int a = de, b = ate;
+            if (distanciaMaxima[k] <= raioDetecao) b = corte;
+            else if (distanciaMinima[k] >= raioDetecao) a = corte;
+            if (a == b) continue;
+            if (simples[k]) executarSimples(d, k, k < inicioFinal[e], passada, a, b, player, deltaTime);
+            else executarRegra(d, k, k < inicioFinal[e], passada, a, b, player, deltaTime);
+            if (acao[k] == MEDIR_DISTANCIA) {
+                menor = Double.POSITIVE_INFINITY;
+                maior = Double.NEGATIVE_INFINITY;
+                corte = separar(passada, de, ate);
+                for (int m = de; m < ate; m++) {
+                    menor = Math.min(menor, distancia[m]);
+                    maior = Math.max(maior, distancia[m]);
+                }
+            }
+        }
+    }
+
+    // Põe na frente quem está dentro do raio de detecção, com a distância e os sinais juntos;
+    // a ordem entre inimigos não importa, só a das regras de cada um
+    private int separar(Passada passada, int de, int ate) {
+        int[] ordem = passada.ordem;
+        double[] distancia = passada.distancia;
+        byte[] sinais = passada.sinais;
+        int corte = de;
+        for (int m = de; m < ate; m++) {
+            if (distancia[m] > raioDetecao) continue;
+            if (m != corte) {
+                int i = ordem[m];
+                ordem[m] = ordem[corte];
+                ordem[corte] = i;
+                double dist = distancia[m];
+                distancia[m] = distancia[corte];
+                distancia[corte] = dist;
+                byte sinal = sinais[m];
+                sinais[m] = sinais[corte];
+                sinais[corte] = sinal;
+            }
+            corte++;
+        }
+        return corte;
+    }
+
+    // Regras sem guarda nem efeito cuja ação é de todo tick: um laço só delas, sem testes
+    private void executarSimples(ArmazemInimigos d, int k, boolean noCorpo, Passada passada, int de, int ate,
+                                 Player player, float deltaTime) {
+        int[] ordem = passada.ordem;
+        double[] distancia = passada.distancia;
+        byte[] sinais = passada.sinais;
+        byte acao = this.acao[k];
+        int a1 = this.a1[k], a2 = this.a2[k];
+        float f = this.f[k];
+        int ignorar = noCorpo ? SINAL_ENCERRADO : 0;
+
+        switch (acao) {
+            case MEDIR_DISTANCIA: {
+                int alvoX = alvoX(player, a1), alvoY = alvoY(player, a1);
+                for (int m = de; m < ate; m++) {
+                    if ((sinais[m] & ignorar) == 0) distancia[m] = Inimigo.distanciaAoJogador(d, ordem[m], alvoX, alvoY);
+                }
+                return;
+            }
+            case KNOCKBACK:
+                for (int m = de; m < ate; m++) {
+                    if ((sinais[m] & ignorar) == 0) aplicarKnockback(d, ordem[m], f, deltaTime);
+                }
+                return;
+            case LIMITAR:
+                for (int m = de; m < ate; m++) {
+                    if ((sinais[m] & ignorar) == 0) Inimigo.limitarPosicao(d, ordem[m]);
+                }
+                return;
+            case AVANCAR_ANIMACAO:
+                for (int m = de; m < ate; m++) {
+                    if ((sinais[m] & ignorar) == 0) d.avancarAnimacao(ordem[m], deltaTime);
+                }
+                return;
+            default: throw new IllegalStateException(nome + ": ação " + acao + " sem laço próprio");
+        }
+    }
+
+    private void executarRegra(ArmazemInimigos d, int k, boolean noCorpo, Passada passada, int de, int ate,
+                               Player player, float deltaTime) {
+        int[] ordem = passada.ordem;
+        double[] distancia = passada.distancia;
+        byte[] sinais = passada.sinais;
+        double minimo = distanciaMinima[k], maximo = distanciaMaxima[k];
+        int exige = exigeVencidos[k];
+        int condicao = condicoes[k];
+        byte acao = this.acao[k];
+        int a1 = this.a1[k], a2 = this.a2[k];
+        float f = this.f[k];
+        int efeito = efeitos[k];
+        // Depois de encerrar(), o inimigo pula o resto do corpo mas não o final
+        int ignorar = noCorpo ? SINAL_ENCERRADO : 0;
+
+        int estadoAnterior = anterior[k];
+        int destino = this.destino[k];
+        boolean depurar = (efeito & EFEITO_DESTINO) != 0 && Log.ativo(Categoria.INIMIGOS, Nivel.DEBUG);
+
+        for (int m = de; m < ate; m++) {
+            int sinal = sinais[m];
+            if ((sinal & ignorar) != 0) continue;
+            double dist = distancia[m];
+            if (dist <= minimo || dist > maximo) continue;
+            int i = ordem[m];
+            if (exige != 0 && (d.vencidos[i] & exige) != exige) continue;
+            if (condicao != 0 && !condicoesValem(d, i, condicao, estadoAnterior)) continue;
+
+            if (acao == MEDIR_DISTANCIA) distancia[m] = Inimigo.distanciaAoJogador(d, i, alvoX(player, a1), alvoY(player, a1));
+            else agir(d, i, acao, a1, a2, f, player, deltaTime);
+
+            if (efeito == 0) continue;
+            aplicarEfeito(d, i, efeito, destino, depurar);
+            if ((efeito & EFEITO_ENCERRA) != 0 && noCorpo) sinais[m] |= SINAL_ENCERRADO;
+        }
+    }
+
+    private static boolean condicoesValem(ArmazemInimigos d, int i, int condicao, int estadoAnterior) {
+        if ((condicao & CONDICAO_SEM_KNOCKBACK) != 0 && (d.knockbackX[i] != 0 || d.knockbackY[i] != 0)) return false;
+        return (condicao & CONDICAO_ANTERIOR) == 0 || d.estadoAnterior[i] == estadoAnterior;
+    }
+
+    // Todas as ações menos MEDIR_DISTANCIA, que cada laço guarda onde mantém a distância
+    private static void agir(ArmazemInimigos d, int i, byte acao, int a1, int a2, float f, Player player, float deltaTime) {
+        switch (acao) {
+            case KNOCKBACK: aplicarKnockback(d, i, f, deltaTime); break;
+            case LIMITAR: Inimigo.limitarPosicao(d, i); break;
+            case AVANCAR_ANIMACAO: d.avancarAnimacao(i, deltaTime); break;
+            case VIRAR: virar(d, i, alvoX(player, a1)); break;
+            case MOVER: Inimigo.moverEmDirecao(d, i, alvoX(player, a1), alvoY(player, a1)); break;
+            case MOVER_VIRANDO: moverVirando(d, i, alvoX(player, a1), alvoY(player, a1)); break;
+            case ATACAR: atacar(d, i, player, a1, f); break;
+            case AGENDAR: d.agendar(i, a1, d.ticksPara(f)); break;
+            case CANCELAR: d.cancelar(i, a1); break;
+            case EXPLODIR: explodir(d, i, player, a1, a2); break;
+            default: break;
+        }
+    }
+
+    // Reinícios da animação e troca de estado; encerrar() fica com quem chama
+    private void aplicarEfeito(ArmazemInimigos d, int i, int efeito, int destino, boolean depurar) {
+        if ((efeito & REINICIAR_QUADRO) != 0) d.frame[i] = 0;
+        if ((efeito & REINICIAR_TEMPO) != 0) d.tempoAnimacao[i] = 0;
+        if ((efeito & EFEITO_DESTINO) == 0) return;
+        int novo = destino == ANTERIOR ? d.estadoAnterior[i] : destino;
+        if (depurar && novo != d.estado[i]) {
+            Log.debug(Categoria.INIMIGOS, nome + " " + nomesEstados[d.estado[i]] + " -> " + nomesEstados[novo]
+                + " at x=" + d.x[i] + ", y=" + d.y[i]);
+        }
+        d.estado[i] = (byte) novo;
+    }
+
+    private static int alvoX(Player player, int alvo) {
+        return alvo == ALVO_CENTRO ? player.getCentroX() : player.getX();
+    }
+
+    private static int alvoY(Player player, int alvo) {
+        return alvo == ALVO_CENTRO ? player.getCentroY() : player.getY();
+    }
+
+    private static void virar(ArmazemInimigos d, int i, int alvoX) {
+        int dx = alvoX - d.x[i];
+        if (dx != 0) d.direcao[i] = (byte) ((dx > 0) ? 1 : -1);
+    }
+
+    // Olha para onde andou, não para onde o jogador está
+    private static void moverVirando(ArmazemInimigos d, int i, int alvoX, int alvoY) {
+        Inimigo.moverEmDirecao(d, i, alvoX, alvoY);
+        d.direcao[i] = (byte) ((alvoX - d.x[i]) > 0 ? 1 : -1);
+    }
+
+    private static void atacar(ArmazemInimigos d, int i, Player player, int dano, float intervalo) {
+        if (d.venceu(i, ArmazemInimigos.TEMPORIZADOR_ATAQUE) && Inimigo.estaColidindoCom(d, i, player)) {
+            d.causarDano(i, player, dano);
+            d.agendar(i, ArmazemInimigos.TEMPORIZADOR_ATAQUE, d.ticksPara(intervalo));
+        }
+    }
+
+    // Sem empurrão pendente não faz nada
+    static void aplicarKnockback(ArmazemInimigos d, int i, float fator, float deltaTime) {
+        float kx = d.knockbackX[i];
+        float ky = d.knockbackY[i];
+        if (kx == 0 && ky == 0) return;
+        d.x[i] += kx * deltaTime * fator;
+        d.y[i] += ky * deltaTime * fator;
+        kx *= 0.9f;
+        ky *= 0.9f;
+        if (Math.abs(kx) < 0.1f && Math.abs(ky) < 0.1f) {
+            kx = 0;
+            ky = 0;
+        }
+        d.knockbackX[i] = kx;
+        d.knockbackY[i] = ky;
+        Inimigo.limitarPosicao(d, i);
+    }
+
+    private static void explodir(ArmazemInimigos d, int i, Player player, int dano, int raio) {
+        if (Inimigo.calcularDistancia(d, i, player.getX(), player.getY()) <= raio) {
+            d.causarDano(i, player, dano);
+        }
+        d.eventos[i] |= ArmazemInimigos.EVENTO_EXPLOSAO;
+        d.vivo[i] = false;
+    }
+
+    public String getNome() { return nome; }
+    public int getTotalEstados() { return nomesEstados.length; }
+    public int getTotalRegras() { return inicio[nomesEstados.length]; }
+    int tamanhoContagem() { return 2 * nomesEstados.length + 1; }
+
+    // Rascunho de uma passada por posição do lote: a ordem agrupada por estado, a distância
+    // medida no tick e os sinais de cada inimigo. Um por tipo em cada armazém.
+    static final class Passada {
+        int[] ordem;
+        double[] distancia;
+        byte[] sinais;
+
+        Passada(int capacidade) {
+            ordem = new int[capacidade];
+            distancia = new double[capacidade];
+            sinais = new byte[capacidade];
+        }
+
+        void garantir(int capacidade) {
+            if (capacidade <= ordem.length) return;
+            int n = Math.max(capacidade, ordem.length * 2);
+            ordem = new int[n];
+            distancia = new double[n];
+            sinais = new byte[n];
+        }
+    }
+
+    private static final class Regra {
+        double distanciaMinima = Double.NEGATIVE_INFINITY;
+        double distanciaMaxima = Double.POSITIVE_INFINITY;
+        int exigeVencidos;
+        int condicoes;
+        int anterior;
+        byte acao = NADA;
+        int a1, a2;
+        float f;
+        int destino = MANTER;
+        byte reinicio;
+        boolean encerra;
+    }
+
+    // para(...) escolhe os estados que recebem as próximas regras (no corpo) e depois(...)
+    // os que as recebem no final; cada se/sempre começa uma regra nova, e() soma guardas a ela.
+    public static final class Construtor {
+        private final Arquetipo arquetipo;
+        private final String nome;
+        private final String[] nomesEstados;
+        private final ArrayList<ArrayList<Regra>> corpo = new ArrayList<>();
+        private final ArrayList<ArrayList<Regra>> fim = new ArrayList<>();
+        private int[] estados = new int[0];
+        private boolean noFinal;
+        private final ArrayList<Regra> atuais = new ArrayList<>();
+
+        public Construtor(Arquetipo arquetipo, String... nomesEstados) {
+            this.arquetipo = arquetipo;
+            this.nome = arquetipo.getNome();
+            this.nomesEstados = nomesEstados.clone();
+            for (int e = 0; e < nomesEstados.length; e++) {
+                corpo.add(new ArrayList<>());
+                fim.add(new ArrayList<>());
+            }
+        }
+
+        public Construtor para(int... estados) {
+            return escolher(estados, false);
+        }
+
+        public Construtor depois(int... estados) {
+            return escolher(estados, true);
+        }
+
+        public Construtor paraTodos() {
+            return escolher(todos(), false);
+        }
+
+        private int[] todos() {
+            int[] todos = new int[nomesEstados.length];
+            for (int e = 0; e < todos.length; e++) todos[e] = e;
+            return todos;
+        }
+
+        private Construtor escolher(int[] escolhidos, boolean noFim) {
+            for (int e : escolhidos) {
+                if (e < 0 || e >= nomesEstados.length) throw new IllegalArgumentException(nome + ": estado " + e + " não existe");
+            }
+            estados = escolhidos.clone();
+            noFinal = noFim;
+            atuais.clear();
+            return this;
+        }
+
+        public Construtor sempre() {
+            return se(SEMPRE, 0);
+        }
+
+        public Construtor se(byte guarda) {
+            return se(guarda, 0);
+        }
+
+        public Construtor se(byte guarda, int parametro) {
+            if (estados.length == 0) throw new IllegalStateException(nome + ": regra sem estado; chame para() antes");
+            atuais.clear();
+            for (int e : estados) {
+                Regra r = new Regra();
+                (noFinal ? fim : corpo).get(e).add(r);
+                atuais.add(r);
+            }
+            return e(guarda, parametro);
+        }
+
+        public Construtor e(byte guarda, int parametro) {
+            int raio = arquetipo.raioDetecao;
+            for (Regra r : regras()) {
+                switch (guarda) {
+                    case SEMPRE: break;
+                    case PERTO: r.distanciaMaxima = Math.min(r.distanciaMaxima, raio); break;
+                    case LONGE: r.distanciaMinima = Math.max(r.distanciaMinima, raio); break;
+                    case PERTO_ATE: r.distanciaMaxima = Math.min(r.distanciaMaxima, Math.min(raio, parametro)); break;
+                    case PERTO_ALEM:
+                        r.distanciaMinima = Math.max(r.distanciaMinima, parametro);
+                        r.distanciaMaxima = Math.min(r.distanciaMaxima, raio);
+                        break;
+                    case ALEM: r.distanciaMinima = Math.max(r.distanciaMinima, parametro); break;
+                    case VENCEU: r.exigeVencidos |= 1 << parametro; break;
+                    case SEM_KNOCKBACK: r.condicoes |= CONDICAO_SEM_KNOCKBACK; break;
+                    case ANTERIOR_EH:
+                        if ((r.condicoes & CONDICAO_ANTERIOR) != 0 && r.anterior != parametro) {
+                            throw new IllegalStateException(nome + ": duas guardas ANTERIOR_EH diferentes na mesma regra");
+                        }
+                        r.condicoes |= CONDICAO_ANTERIOR;
+                        r.anterior = parametro;
+                        break;
+                    default: throw new IllegalArgumentException(nome + ": guarda " + guarda + " não existe");
+                }
+            }
+            return this;
+        }
+
+        public Construtor faz(byte acao) {
+            return faz(acao, 0, 0, 0f);
+        }
+
+        public Construtor faz(byte acao, int a1) {
+            return faz(acao, a1, 0, 0f);
+        }
+
+        public Construtor faz(byte acao, int a1, float f) {
+            return faz(acao, a1, 0, f);
+        }
+
+        public Construtor faz(byte acao, int a1, int a2, float f) {
+            for (Regra r : regras()) {
+                r.acao = acao;
+                r.a1 = a1;
+                r.a2 = a2;
+                r.f = f;
+            }
+            return this;
+        }
+
+        public Construtor vai(int destino) {
+            if (destino != ANTERIOR && (destino < 0 || destino >= nomesEstados.length)) {
+                throw new IllegalArgumentException(nome + ": destino " + destino + " não existe");
+            }
+            for (Regra r : regras()) r.destino = destino;
+            return this;
+        }
+
+        public Construtor reinicia(int reinicio) {
+            for (Regra r : regras()) r.reinicio = (byte) (reinicio & (REINICIAR_QUADRO | REINICIAR_TEMPO));
+            return this;
+        }
+
+        public Construtor encerrar() {
+            for (Regra r : regras()) r.encerra = true;
+            return this;
+        }
+
+        private ArrayList<Regra> regras() {
+            if (atuais.isEmpty()) throw new IllegalStateException(nome + ": comece a regra com se() ou sempre()");
+            return atuais;
+        }
+
+        public MaquinaEstados compilar() {
+            return new MaquinaEstados(this);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return nome + Arrays.toString(nomesEstados) + " com " + getTotalRegras() + " regras";
+    }
+}
@@ -2,210 +2,181 @@ package minicraft.inimigos;
 
 import java.awt.Graphics;
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
+import minicraft.core.Log;
+import minicraft.core.Log.Categoria;
+import minicraft.core.Log.Nivel;
+import minicraft.graphics.AssetManager;
+import minicraft.graphics.ConjuntoAnimacoes;
+import minicraft.graphics.RenderSnapshot;
 import minicraft.graphics.SpriteSheet;
 import minicraft.player.Player;
 
 public class Slime extends Inimigo {
-    private enum Estado {
-        PARADO, PULANDO, DANO, COOLDOWN
+    // Estados (ordinal guardado em ArmazemInimigos.estado)
+    private static final byte PARADO = 0, PULANDO = 1, DANO = 2, COOLDOWN = 3;
+    private static final String[] NOMES_ESTADOS = {"PARADO", "PULANDO", "DANO", "COOLDOWN"};
+
+    private static final float[] DURACAO_FRAMES = {0.5f, 0.125f, 0.25f, 1.0f};
+
+    private static final Arquetipo ARQUETIPO = Arquetipo.get(ArmazemInimigos.SLIME);
+    private static final int DISTANCIA_PULO = ARQUETIPO.inteiro("distanciaPulo");
+    private static final float IMPULSO_PULO = ARQUETIPO.decimal("impulsoPulo");
+    private static final float GRAVIDADE = ARQUETIPO.decimal("gravidade");
+    private static final int DANO_CONTATO = ARQUETIPO.inteiro("danoContato");
+    private static final int RAIO_CONTATO = ARQUETIPO.inteiro("raioContato");
+    private static final float ESPERA_PULO = ARQUETIPO.decimal("esperaPulo"); // Parado antes de pular e depois de pousar
+    private static final float DURACAO_DANO = ARQUETIPO.decimal("duracaoDano");
+    private static final float INTERVALO_DANO_CONTATO = ARQUETIPO.decimal("intervaloDanoContato");
+    private static final int KNOCKBACK = ARQUETIPO.inteiro("knockback");
+    private static final float DESLOCAMENTO_KNOCKBACK = ARQUETIPO.decimal("deslocamentoKnockback");
+
+    private final ConjuntoAnimacoes animacoes;
+
+    public Slime(ArmazemInimigos armazem, int x, int y) {
+        // (x, y) é o centro
+        super(ARQUETIPO, armazem, x - ARQUETIPO.largura / 2, y - ARQUETIPO.altura / 2);
+        dados.estado[indice] = PARADO;
+        animacoes = AssetManager.getAnimacoes("slime", "minicraft/graphics/sprites/sprites_slime.png", 18, 18, Slime::fatiar, DURACAO_FRAMES);
+        dados.usarAnimacoes(ArmazemInimigos.SLIME, animacoes);
     }
 
-    private Estado estadoAtual;
-    private HashMap<Estado, BufferedImage[]> animacoes;
-    private HashMap<Estado, Float> duracaoFrames;
-    private int frame;
-    private float tempoAnimacao;
-    private float tempoEstado;
-    private float tempoDanoContinuo;
-    
-    private float knockbackX, knockbackY;
-    private final int distanciaPulo = 200;
-    private final int danoContato = 5;
-    private boolean noAr;
-    private float alturaPulo;
-    private float velocidadeHorizontal;
-    private int direcaoPulo;
-    private float initialY;
-
-    public Slime(int x, int y) {
-        super(x - (18 * 3), y - (18 * 3), 30, 0);
-        this.larguraHitbox = 18 * 6;
-        this.alturaHitbox = 18 * 6;
-        this.estadoAtual = Estado.PARADO;
-        this.tempoAnimacao = 0;
-        this.tempoEstado = 0;
-        this.noAr = false;
-        this.alturaPulo = 0;
-        carregarAnimacoes();
-        configurarDuracoes();
+    private static BufferedImage[][] fatiar(SpriteSheet sheet) {
+        BufferedImage[][] animacoes = new BufferedImage[DURACAO_FRAMES.length][];
+        BufferedImage[] parado = {
+            sheet.getSprite(0, 0),
+            sheet.getSprite(18, 0)
+        };
+        animacoes[PARADO] = parado;
+        animacoes[COOLDOWN] = parado;
+
+        animacoes[PULANDO] = new BufferedImage[]{
+            sheet.getSprite(0, 18), sheet.getSprite(18, 18),
+            sheet.getSprite(36, 18), sheet.getSprite(54, 18),
+            sheet.getSprite(72, 18), sheet.getSprite(90, 18),
+            sheet.getSprite(108, 18), sheet.getSprite(126, 18)
+        };
+
+        animacoes[DANO] = new BufferedImage[]{
+            sheet.getSprite(0, 36), sheet.getSprite(18, 36),
+            sheet.getSprite(36, 36), sheet.getSprite(54, 36)
+        };
+        return animacoes;
     }
 
-    private void carregarAnimacoes() {
-        animacoes = new HashMap<>();
-        try {
-            SpriteSheet sheet = new SpriteSheet("minicraft/graphics/sprites/sprites_slime.png", 18, 18);
-            
-            BufferedImage[] parado = {
-                sheet.getSprite(0, 0),
-                sheet.getSprite(18, 0)
-            };
-            animacoes.put(Estado.PARADO, parado);
-            animacoes.put(Estado.COOLDOWN, parado);
-
-            animacoes.put(Estado.PULANDO, new BufferedImage[]{
-                sheet.getSprite(0, 18), sheet.getSprite(18, 18),
-                sheet.getSprite(36, 18), sheet.getSprite(54, 18),
-                sheet.getSprite(72, 18), sheet.getSprite(90, 18),
-                sheet.getSprite(108, 18), sheet.getSprite(126, 18)
-            });
-
-            animacoes.put(Estado.DANO, new BufferedImage[]{
-                sheet.getSprite(0, 36), sheet.getSprite(18, 36),
-                sheet.getSprite(36, 36), sheet.getSprite(54, 36)
-            });
-
-        } catch (Exception e) {
-            System.err.println("ERRO: Falha ao carregar sprites do Slime!");
-            e.printStackTrace();
-            System.exit(1);
-        }
+    @Override
+    public boolean estaColidindoCom(Player player) {
+        return colideCirculo(dados, indice, player, RAIO_CONTATO);
     }
 
-    private void configurarDuracoes() {
-        duracaoFrames = new HashMap<>();
-        duracaoFrames.put(Estado.PARADO, 0.5f);
-        duracaoFrames.put(Estado.PULANDO, 0.125f);
-        duracaoFrames.put(Estado.DANO, 0.25f);
-        duracaoFrames.put(Estado.COOLDOWN, 1.0f);
+    // O que começa fora do tick do Slime (nascer, tomar dano) conta o próprio tick como o
+    // primeiro da espera, por isso um tick a menos
+    static void iniciarTemporizadores(ArmazemInimigos d, int i) {
+        d.agendar(i, ArmazemInimigos.TEMPORIZADOR_ESPERA, d.ticksPara(ESPERA_PULO) - 1);
+        d.agendar(i, ArmazemInimigos.TEMPORIZADOR_ATAQUE, d.ticksPara(INTERVALO_DANO_CONTATO) - 1);
     }
 
-    @Override
-    public boolean estaColidindoCom(Player player) {
-        int slimeCenterX = x + (larguraHitbox / 2);
-        int slimeCenterY = y + (alturaHitbox / 2);
-        int slimeRadius = 54;
-        
-        int playerCenterX = player.getX() + (player.getLarguraHitbox() / 2);
-        int playerCenterY = player.getY() + (player.getAlturaHitbox() / 2);
-        int playerRadius = player.getLarguraHitbox() / 2;
-        
-        double distancia = Math.sqrt(Math.pow(slimeCenterX - playerCenterX, 2) + 
-                        Math.pow(slimeCenterY - playerCenterY, 2));
-        
-        return distancia < (slimeRadius + playerRadius);
+    // Parado, espera a vez e pula na direção do jogador; ao pousar, descansa antes de poder
+    // pular de novo. O pulo, a animação e o dano por contato seguem em qualquer estado.
+    // Escrito à mão em vez de tabela de MaquinaEstados: com mais regras por tick que os outros
+    // tipos, o Slime custava o dobro no interpretador.
+    static void atualizar(ArmazemInimigos d, int[] indices, int de, int ate, Player player, float deltaTime) {
+        for (int n = de; n < ate; n++) {
+            int i = indices[n];
+            if (d.vivo[i]) atualizar(d, i, player, deltaTime);
+        }
     }
-    
-    @Override
-    public void update(Player player) {
-        if (!estaVivo()) return;
 
-        float deltaTime = 0.0167f;
-        tempoEstado += deltaTime;
-        tempoAnimacao += deltaTime;
-        tempoDanoContinuo += deltaTime;
-
-        // Aplicar knockback e limitar posição
-        if (knockbackX != 0 || knockbackY != 0) {
-            x += knockbackX * deltaTime * 40;
-            y += knockbackY * deltaTime * 40;
-            knockbackX *= 0.9f;
-            knockbackY *= 0.9f;
-            if (Math.abs(knockbackX) < 0.1f && Math.abs(knockbackY) < 0.1f) {
-                knockbackX = 0;
-                knockbackY = 0;
-            }
-            // Limitar posição dentro da área do jogo
-            x = Math.max(0, Math.min(x, 1200 - larguraHitbox));
-            y = Math.max(0, Math.min(y, 1000 - alturaHitbox));
-            System.out.println("Slime knockback at x=" + x + ", y=" + y);
+    static void atualizar(ArmazemInimigos d, int i, Player player, float deltaTime) {
+        d.tempoAnimacao[i] += deltaTime;
+        MaquinaEstados.aplicarKnockback(d, i, DESLOCAMENTO_KNOCKBACK, deltaTime);
+
+        switch (d.estado[i]) {
+            case DANO:
+                if (d.venceu(i, ArmazemInimigos.TEMPORIZADOR_ESPERA)) {
+                    d.agendar(i, ArmazemInimigos.TEMPORIZADOR_ESPERA, d.ticksPara(ESPERA_PULO));
+                    mudarEstado(d, i, PARADO);
+                    d.frame[i] = 0;
+                }
+                d.trocarQuadro(i);
+                break;
+            case PARADO:
+                if (d.venceu(i, ArmazemInimigos.TEMPORIZADOR_ESPERA) && perto(d, i, player)) {
+                    pular(d, i, player, deltaTime);
+                    mudarEstado(d, i, PULANDO);
+                    d.frame[i] = 0;
+                }
+                break;
+            case COOLDOWN:
+                if (d.venceu(i, ArmazemInimigos.TEMPORIZADOR_ESPERA) && perto(d, i, player)) {
+                    d.agendar(i, ArmazemInimigos.TEMPORIZADOR_ESPERA, d.ticksPara(ESPERA_PULO));
+                    mudarEstado(d, i, PARADO);
+                }
+                break;
+            default:
+                break;
         }
 
-        if (estadoAtual == Estado.DANO) {
-            atualizarDano(deltaTime);
-        } else {
-            comportamentoNormal(player, deltaTime);
+        if (moverPulo(d, i)) {
+            d.agendar(i, ArmazemInimigos.TEMPORIZADOR_ESPERA, d.ticksPara(ESPERA_PULO));
+            mudarEstado(d, i, COOLDOWN);
         }
+        d.trocarQuadro(i);
+        danoContato(d, i, player);
+        limitarPosicao(d, i);
+    }
 
-        atualizarPulo();
-        atualizarAnimacao();
-        aplicarDanoContinuo(player);
-
-        // Limitar posição após pulo ou movimento
-        x = Math.max(0, Math.min(x, 1200 - larguraHitbox));
-        y = Math.max(0, Math.min(y, 1000 - alturaHitbox));
+    private static boolean perto(ArmazemInimigos d, int i, Player player) {
+        return distanciaAoJogador(d, i, player.getX(), player.getY()) <= ARQUETIPO.raioDetecao;
     }
 
-    private void comportamentoNormal(Player player, float deltaTime) {
-        double distancia = calcularDistancia(player.getX(), player.getY());
-        
-        if (distancia <= raioDetecao) {
-            if (estadoAtual == Estado.PARADO && tempoEstado >= 1.0f) {
-                iniciarPulo(player);
-            }
-            
-            if (estadoAtual == Estado.COOLDOWN && tempoEstado >= 1.0f) {
-                estadoAtual = Estado.PARADO;
-                tempoEstado = 0;
-            }
+    private static void mudarEstado(ArmazemInimigos d, int i, byte novo) {
+        if (Log.ativo(Categoria.INIMIGOS, Nivel.DEBUG) && novo != d.estado[i]) {
+            Log.debug(Categoria.INIMIGOS, "Slime " + NOMES_ESTADOS[d.estado[i]] + " -> " + NOMES_ESTADOS[novo]
+                + " at x=" + d.x[i] + ", y=" + d.y[i]);
         }
+        d.estado[i] = novo;
     }
 
-    private void iniciarPulo(Player player) {
-        estadoAtual = Estado.PULANDO;
-        tempoEstado = 0;
-        frame = 0;
-        noAr = true;
-        initialY = y;
-        alturaPulo = -15f;
-        
-        double dx = player.getX() - x;
-        double dy = player.getY() - y;
+    // A espera só volta a contar no pouso
+    private static void pular(ArmazemInimigos d, int i, Player player, float deltaTime) {
+        d.cancelar(i, ArmazemInimigos.TEMPORIZADOR_ESPERA);
+        d.noAr[i] = true;
+        d.inicioPuloY[i] = d.y[i];
+        d.alturaPulo[i] = IMPULSO_PULO;
+
+        double dx = player.getX() - d.x[i];
+        double dy = player.getY() - d.y[i];
         double distancia = Math.sqrt(dx * dx + dy * dy);
-        
-        if (distancia > 0) {
-            direcaoPulo = (int) Math.signum(dx);
-            velocidadeHorizontal = (float) (dx / distancia) * distanciaPulo * 0.0167f;
-        }
-    }
 
-    private void atualizarPulo() {
-        if (noAr) {
-            alturaPulo += 0.8f;
-            y += alturaPulo;
-            
-            if (y + alturaHitbox >= initialY + alturaHitbox) {
-                y = (int) initialY;
-                alturaPulo = 0;
-                noAr = false;
-                estadoAtual = Estado.COOLDOWN;
-                tempoEstado = 0;
-            }
-            
-            x += velocidadeHorizontal;
+        if (distancia > 0) {
+            d.direcaoPulo[i] = (int) Math.signum(dx);
+            d.velocidadeHorizontal[i] = (float) (dx / distancia) * DISTANCIA_PULO * deltaTime;
         }
     }
 
-    private void atualizarDano(float deltaTime) {
-        if (tempoEstado >= 0.5f) { // Dura 0.5 segundos no estado DANO
-            estadoAtual = Estado.PARADO;
-            tempoEstado = 0;
-            frame = 0;
+    // Devolve true no tick em que volta ao chão
+    private static boolean moverPulo(ArmazemInimigos d, int i) {
+        if (!d.noAr[i]) return false;
+        boolean pousou = false;
+        d.alturaPulo[i] += GRAVIDADE;
+        d.y[i] += d.alturaPulo[i];
+
+        if (d.y[i] + ARQUETIPO.altura >= d.inicioPuloY[i] + ARQUETIPO.altura) {
+            d.y[i] = (int) d.inicioPuloY[i];
+            d.alturaPulo[i] = 0;
+            d.noAr[i] = false;
+            d.eventos[i] |= ArmazemInimigos.EVENTO_POUSO;
+            pousou = true;
         }
-        atualizarAnimacao();
-    }
 
-    private void atualizarAnimacao() {
-        if (tempoAnimacao >= duracaoFrames.get(estadoAtual)) {
-            frame = (frame + 1) % animacoes.get(estadoAtual).length;
-            tempoAnimacao = 0;
-        }
+        d.x[i] += d.velocidadeHorizontal[i];
+        return pousou;
     }
 
-    private void aplicarDanoContinuo(Player player) {
-        if (estaColidindoCom(player) && tempoDanoContinuo >= 1.0f) {
-            player.tomarDano(danoContato);
-            tempoDanoContinuo = 0;
+    private static void danoContato(ArmazemInimigos d, int i, Player player) {
+        if (d.jogadorProximo[i] && d.venceu(i, ArmazemInimigos.TEMPORIZADOR_ATAQUE) && colideCirculo(d, i, player, RAIO_CONTATO)) {
+            d.causarDano(i, player, DANO_CONTATO);
+            d.agendar(i, ArmazemInimigos.TEMPORIZADOR_ATAQUE, d.ticksPara(INTERVALO_DANO_CONTATO));
         }
     }
 
@@ -213,35 +184,48 @@ public class Slime extends Inimigo {
     public void tomarDano(int dano) {
         super.tomarDano(dano);
         if (estaVivo()) {
-            estadoAtual = Estado.DANO;
-            frame = 0;
-            tempoAnimacao = 0;
-            tempoEstado = 0;
-            
-            double angulo = Math.atan2(y - getY(), x - getX());
-            knockbackX = (float) Math.cos(angulo) * 2;
-            knockbackY = (float) Math.sin(angulo) * 2;
-            System.out.println("Slime took damage, knockback applied: x=" + x + ", y=" + y);
+            ArmazemInimigos d = dados;
+            int i = indice;
+            d.estado[i] = DANO;
+            d.frame[i] = 0;
+            d.tempoAnimacao[i] = 0;
+            d.agendar(i, ArmazemInimigos.TEMPORIZADOR_ESPERA, d.ticksPara(DURACAO_DANO) - 1);
+
+            double angulo = Math.atan2(d.y[i] - getY(), d.x[i] - getX());
+            d.knockbackX[i] = (float) Math.cos(angulo) * KNOCKBACK;
+            d.knockbackY[i] = (float) Math.sin(angulo) * KNOCKBACK;
+            if (Log.ativo(Categoria.INIMIGOS, Nivel.DEBUG)) Log.debug(Categoria.INIMIGOS, "Slime took damage, knockback applied: x=" + d.x[i] + ", y=" + d.y[i]);
         }
     }
 
+    // Vira para o lado do último pulo
+    private int lado() {
+        return SpriteSheet.lado(dados.direcaoPulo[indice] != -1);
+    }
+
     @Override
-    public void render(Graphics g, int cameraX, int cameraY) {
+    public void render(Graphics g, int cameraX, int cameraY, float alpha) {
         if (!estaVivo()) return;
-        
-        BufferedImage[] frames = animacoes.get(estadoAtual);
-        if (frames == null || frames.length == 0) return;
-        
-        BufferedImage frameAtual = frames[frame % frames.length];
-        
-        int renderX = x - cameraX;
-        int renderY = y - cameraY;
-        
-        g.drawImage(frameAtual, 
+
+        BufferedImage frameAtual = animacoes.getQuadro(lado(), dados.estado[indice], dados.frame[indice]);
+
+        int renderX = interpolarX(alpha) - cameraX;
+        int renderY = interpolarY(alpha) - cameraY;
+
+        g.drawImage(frameAtual,
             renderX,
             renderY,
-            larguraHitbox, 
-            alturaHitbox, 
+            ARQUETIPO.largura,
+            ARQUETIPO.altura,
             null);
     }
-}
\ No newline at end of file
+
+    @Override
+    public void capturar(RenderSnapshot snapshot) {
+        if (!estaVivo()) return;
+
+        snapshot.adicionarSprite(animacoes.getQuadro(lado(), dados.estado[indice], dados.frame[indice]), animacoes.getLote(),
+            dados.xAnterior[indice], dados.yAnterior[indice], dados.x[indice], dados.y[indice],
+            ARQUETIPO.largura, ARQUETIPO.altura);
+    }
+}
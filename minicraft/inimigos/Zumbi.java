@@ -1,148 +1,100 @@
 package minicraft.inimigos;
 
 import java.awt.Graphics;
-import java.awt.geom.AffineTransform;
-import java.awt.image.AffineTransformOp;
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
+import minicraft.graphics.AssetManager;
+import minicraft.graphics.ConjuntoAnimacoes;
+import minicraft.graphics.RenderSnapshot;
 import minicraft.graphics.SpriteSheet;
-import minicraft.player.Player;
 
 public class Zumbi extends Inimigo {
-    private enum Estado {
-        PARADO, ANDANDO, ATACANDO, DANO
-    }
-
-    private Estado estadoAtual;
-    private HashMap<Estado, BufferedImage[]> animacoes;
-    private HashMap<Estado, Float> duracaoFrames;
-    private int frame;
-    private float tempoAnimacao;
-    private int direcao = 1;
-
-    public Zumbi(int x, int y) {
-        super(x, y, 30, 2);
-        this.estadoAtual = Estado.PARADO;
-        this.tempoAnimacao = 0;
-        carregarAnimacoes();
-        configurarDuracoes();
-    }
-
-    private void carregarAnimacoes() {
-        animacoes = new HashMap<>();
-        try {
-            SpriteSheet sheet = new SpriteSheet("minicraft/graphics/sprites/sprites_zumbi.png", 18, 18);
-
-            animacoes.put(Estado.PARADO, new BufferedImage[]{
-                sheet.getSprite(0, 0), sheet.getSprite(18, 0)
-            });
-
-            animacoes.put(Estado.ANDANDO, new BufferedImage[]{
-                sheet.getSprite(0, 18), sheet.getSprite(18, 18),
-                sheet.getSprite(36, 18), sheet.getSprite(54, 18)
-            });
+    // Estados (ordinal guardado em ArmazemInimigos.estado)
+    private static final byte PARADO = 0, ANDANDO = 1, ATACANDO = 2, DANO = 3;
+    private static final String[] NOMES_ESTADOS = {"PARADO", "ANDANDO", "ATACANDO", "DANO"};
 
-            animacoes.put(Estado.ATACANDO, new BufferedImage[]{
-                sheet.getSprite(0, 36), sheet.getSprite(18, 36),
-                sheet.getSprite(36, 36), sheet.getSprite(54, 36),
-                sheet.getSprite(72, 36), sheet.getSprite(90, 36)
+    private static final float[] DURACAO_FRAMES = {0.5f, 0.15f, 0.25f, 0.25f};
 
-            });
+    private static final Arquetipo ARQUETIPO = Arquetipo.get(ArmazemInimigos.ZUMBI);
+    private static final int ALCANCE_ATAQUE = ARQUETIPO.inteiro("alcanceAtaque");
+    private static final int DANO_ATAQUE = ARQUETIPO.inteiro("danoAtaque");
+    private static final float INTERVALO_ATAQUE = ARQUETIPO.decimal("intervaloAtaque");
 
-            animacoes.put(Estado.DANO, new BufferedImage[]{
-                sheet.getSprite(0, 54), sheet.getSprite(18, 54),
-                sheet.getSprite(36, 54), sheet.getSprite(54, 54)
-            });
+    private final ConjuntoAnimacoes animacoes;
 
-        } catch (Exception e) {
-            System.err.println("ERRO: Falha ao carregar sprites do Zumbi!");
-            e.printStackTrace();
-            System.exit(1);
-        }
+    public Zumbi(ArmazemInimigos armazem, int x, int y) {
+        super(ARQUETIPO, armazem, x, y);
+        dados.estado[indice] = PARADO;
+        dados.tempoAnimacao[indice] = 0;
+        animacoes = AssetManager.getAnimacoes("zumbi", "minicraft/graphics/sprites/sprites_zumbi.png", 18, 18, Zumbi::fatiar, DURACAO_FRAMES);
+        dados.usarAnimacoes(ArmazemInimigos.ZUMBI, animacoes);
     }
 
-    private void configurarDuracoes() {
-        duracaoFrames = new HashMap<>();
-        duracaoFrames.put(Estado.PARADO, 0.5f);
-        duracaoFrames.put(Estado.ANDANDO, 0.15f);
-        duracaoFrames.put(Estado.ATACANDO, 0.25f);
-        duracaoFrames.put(Estado.DANO, 0.25f);
+    private static BufferedImage[][] fatiar(SpriteSheet sheet) {
+        BufferedImage[][] animacoes = new BufferedImage[DURACAO_FRAMES.length][];
+        animacoes[PARADO] = new BufferedImage[]{
+            sheet.getSprite(0, 0), sheet.getSprite(18, 0)
+        };
+
+        animacoes[ANDANDO] = new BufferedImage[]{
+            sheet.getSprite(0, 18), sheet.getSprite(18, 18),
+            sheet.getSprite(36, 18), sheet.getSprite(54, 18)
+        };
+
+        animacoes[ATACANDO] = new BufferedImage[]{
+            sheet.getSprite(0, 36), sheet.getSprite(18, 36),
+            sheet.getSprite(36, 36), sheet.getSprite(54, 36),
+            sheet.getSprite(72, 36), sheet.getSprite(90, 36)
+        };
+
+        animacoes[DANO] = new BufferedImage[]{
+            sheet.getSprite(0, 54), sheet.getSprite(18, 54),
+            sheet.getSprite(36, 54), sheet.getSprite(54, 54)
+        };
+        return animacoes;
     }
 
-    @Override
-    public void update(Player player) {
-        if (!estaVivo()) return;
-
-        float deltaTime = 0.0167f;
-        double distancia = calcularDistancia(player.getCentroX(), player.getCentroY());
-
-        if (distancia <= raioDetecao) {
-            if (distancia > alcanceAtaque) {
-                moverEmDirecao(player.getCentroX(), player.getCentroY());
-                estadoAtual = Estado.ANDANDO;
-            } else {
-                estadoAtual = Estado.ATACANDO;
-                atacar(player, deltaTime);
-            }
-        } else {
-            estadoAtual = Estado.PARADO;
-        }
-
-        atualizarAnimacao(deltaTime);
+    // O primeiro ataque só sai um intervalo depois de nascer; como no Slime, o tick em que
+    // nasce conta como o primeiro da espera
+    static void iniciarTemporizadores(ArmazemInimigos d, int i) {
+        d.agendar(i, ArmazemInimigos.TEMPORIZADOR_ATAQUE, d.ticksPara(INTERVALO_ATAQUE) - 1);
     }
 
-    private void atualizarAnimacao(float deltaTime) {
-        tempoAnimacao += deltaTime;
-        if (tempoAnimacao >= duracaoFrames.get(estadoAtual)) {
-            frame = (frame + 1) % animacoes.get(estadoAtual).length;
-            tempoAnimacao = 0;
-        }
-    }
+    // Anda até o jogador e ataca quando chega ao alcance; o dano só dura até o próximo tick
+    static final MaquinaEstados MAQUINA = new MaquinaEstados.Construtor(ARQUETIPO, NOMES_ESTADOS)
+        .paraTodos()
+            .sempre().faz(MaquinaEstados.MEDIR_DISTANCIA, MaquinaEstados.ALVO_CENTRO)
+            .se(MaquinaEstados.PERTO_ALEM, ALCANCE_ATAQUE).faz(MaquinaEstados.MOVER_VIRANDO, MaquinaEstados.ALVO_CENTRO).vai(ANDANDO)
+            .se(MaquinaEstados.PERTO_ATE, ALCANCE_ATAQUE).faz(MaquinaEstados.ATACAR, DANO_ATAQUE, INTERVALO_ATAQUE).vai(ATACANDO)
+            .se(MaquinaEstados.LONGE).vai(PARADO)
+            .sempre().faz(MaquinaEstados.AVANCAR_ANIMACAO)
+        .compilar();
 
     @Override
     public void tomarDano(int dano) {
         super.tomarDano(dano);
         if (estaVivo()) {
-            estadoAtual = Estado.DANO;
-            frame = 0;
-            tempoAnimacao = 0;
+            dados.estado[indice] = DANO;
+            dados.frame[indice] = 0;
+            dados.tempoAnimacao[indice] = 0;
         }
     }
 
-    @Override
-    public void render(Graphics g, int cameraX, int cameraY) {
-        BufferedImage[] frames = animacoes.get(estadoAtual);
-        BufferedImage frameOriginal = frames[frame % frames.length];
-
-        BufferedImage frameAtual = getSpriteDirecao(frameOriginal);
-
-        g.drawImage(frameAtual,
-            x - cameraX - 16,
-            y - cameraY - 16,
-            48, 48, null);
+    private BufferedImage getFrameAtual() {
+        return animacoes.getQuadro(SpriteSheet.lado(dados.direcao[indice] != -1), dados.estado[indice], dados.frame[indice]);
     }
 
-    private BufferedImage getSpriteDirecao(BufferedImage original) {
-        if (direcao == 1) return original;
-
-        BufferedImage flipped = new BufferedImage(
-            original.getWidth(),
-            original.getHeight(),
-            BufferedImage.TYPE_INT_ARGB
-        );
-
-        AffineTransform tx = AffineTransform.getScaleInstance(-1, 1);
-        tx.translate(-original.getWidth(), 0);
-        AffineTransformOp op = new AffineTransformOp(tx, AffineTransformOp.TYPE_NEAREST_NEIGHBOR);
-        op.filter(original, flipped);
-
-        return flipped;
+    @Override
+    public void capturar(RenderSnapshot snapshot) {
+        snapshot.adicionarSprite(getFrameAtual(), animacoes.getLote(),
+            dados.xAnterior[indice] - 16, dados.yAnterior[indice] - 16,
+            dados.x[indice] - 16, dados.y[indice] - 16, 48, 48);
     }
 
     @Override
-    protected void moverEmDirecao(int targetX, int targetY) {
-        super.moverEmDirecao(targetX, targetY);
-        double dx = targetX - x;
-        direcao = dx > 0 ? 1 : -1;
+    public void render(Graphics g, int cameraX, int cameraY, float alpha) {
+        g.drawImage(getFrameAtual(),
+            interpolarX(alpha) - cameraX - 16,
+            interpolarY(alpha) - cameraY - 16,
+            48, 48, null);
     }
-}
\ No newline at end of file
+}
@@ -1,34 +1,38 @@
 package minicraft.main;
 
 import javax.swing.*;
-import minicraft.graphics.Camera;
-import minicraft.graphics.Cronometro;
-import minicraft.inimigos.Creeper;
+import minicraft.core.Entrada;
+import minicraft.core.GameLoop;
+import minicraft.core.GravadorEntrada;
+import minicraft.core.Log;
+import minicraft.core.Log.Categoria;
+import minicraft.core.Log.Nivel;
+import minicraft.core.ReprodutorEntrada;
+import minicraft.graphics.PreCarregador;
+import minicraft.graphics.RenderThread;
+import minicraft.graphics.SnapshotBuffer;
+import minicraft.graphics.TelaCarregamento;
 import minicraft.inimigos.Inimigo;
-import minicraft.inimigos.Slime;
-import minicraft.inimigos.Zumbi;
 import minicraft.player.Player;
-import minicraft.world.Mapa;
+import minicraft.world.Mundo;
 
 import java.awt.*;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.awt.image.BufferStrategy;
+import java.io.IOException;
 import java.util.ArrayList;
 
 public class Jogo extends JFrame implements KeyListener {
+    private static final int TICKS_POR_SEGUNDO = Integer.getInteger("minicraft.tps", 60);
+    private static final int MAX_TICKS_POR_FRAME = 5;
+
     private Canvas canvas;
-    private boolean running = false;
-    private Mapa mapa;
-    private Player player;
-    private Camera camera;
-    private Cronometro cronometro;
-    private Creeper creeper;
-    private Slime slimeteste;
-    private Zumbi zumbiteste;
-    private ArrayList<Inimigo> inimigos;
+    private GameLoop gameLoop;
+    private final SnapshotBuffer snapshots = new SnapshotBuffer();
+    private RenderThread renderThread;
+    private Mundo mundo;
 
     public Jogo() {
         setTitle("Minicraft");
@@ -49,108 +53,124 @@ public class Jogo extends JFrame implements KeyListener {
             @Override
             public void mousePressed(MouseEvent e) {
                 if (e.getButton() == MouseEvent.BUTTON1) {
-                    player.handleMousePress(e);
+                    mundo.getEntrada().enfileirar(Entrada.BOTAO_MOUSE, e.getButton());
                 } else if (e.getButton() == MouseEvent.BUTTON3) {
-                    System.out.println("Botão direito clicado na posição: " + e.getX() + ", " + e.getY());
+                    if (Log.ativo(Categoria.JOGO, Nivel.DEBUG)) Log.debug(Categoria.JOGO, "Botão direito clicado na posição: " + e.getX() + ", " + e.getY());
                 }
             }
         });
 
         setVisible(true);
 
-        player = new Player(600, 500);
-        mapa = new Mapa();
-        camera = new Camera(600, 500);
-        cronometro = new Cronometro();
-        creeper = new Creeper(300, 300);
-        slimeteste = new Slime(400, 400);
-        zumbiteste = new Zumbi(600, 300);
-        inimigos = new ArrayList<>();
-        inimigos.add(creeper);
-        inimigos.add(slimeteste);
-        inimigos.add(zumbiteste);
+        precarregarAssets();
+        mundo = criarMundo();
 
         startGame();
     }
 
-    private void startGame() {
-        running = true;
-        gameLoop();
+    // Decodifica todas as imagens em paralelo antes de criar o mundo, redesenhando a
+    // barra de progresso até acabar
+    private void precarregarAssets() {
+        PreCarregador carga = new PreCarregador(PreCarregador.PASTA_SPRITES).iniciar();
+        try {
+            boolean terminou;
+            do {
+                terminou = carga.aguardar(16);
+                Graphics g = canvas.getGraphics();
+                if (g != null) {
+                    TelaCarregamento.desenhar(g, canvas.getWidth(), canvas.getHeight(), carga);
+                    g.dispose();
+                }
+            } while (!terminou);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        carga.relatar();
     }
 
-    private void gameLoop() {
-        long gameStartTime = System.currentTimeMillis();
-
-        while (running) {
-            long currentTime = System.currentTimeMillis();
-            long gameTime = currentTime - gameStartTime;
-
-            updateGame(gameTime);
-            render(gameTime);
-
-            try {
-                Thread.sleep(16);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
+    // -Dminicraft.seed fixa a semente do mundo.
+    // -Dminicraft.gravar=arquivo grava a entrada; -Dminicraft.reproduzir=arquivo a reproduz
+    // usando a taxa de ticks e a semente da gravação.
+    private Mundo criarMundo() {
+        String reproduzir = System.getProperty("minicraft.reproduzir");
+        String gravar = System.getProperty("minicraft.gravar");
+        int ticksPorSegundo = TICKS_POR_SEGUNDO;
+        long seed = Long.getLong("minicraft.seed", System.nanoTime());
+        ReprodutorEntrada reprodutor = null;
+        GravadorEntrada gravador = null;
+
+        try {
+            if (reproduzir != null) {
+                reprodutor = new ReprodutorEntrada(reproduzir);
+                ticksPorSegundo = reprodutor.getTicksPorSegundo();
+                seed = reprodutor.getSeed();
+            } else if (gravar != null) {
+                gravador = new GravadorEntrada(gravar, ticksPorSegundo, seed);
             }
+        } catch (IOException e) {
+            Log.erro(Categoria.JOGO, "Erro ao abrir gravação de entrada: " + e.getMessage());
         }
-    }
-
-    private void updateGame(long gameTime) {
-        player.update(inimigos);
-        camera.update(player, mapa.getLargura(), mapa.getAltura(), canvas.getWidth(), canvas.getHeight());
 
-        for (Inimigo inimigo : inimigos) {
-            if (inimigo.estaVivo()) {
-                inimigo.update(player);
-                System.out.println("Updating " + inimigo.getClass().getSimpleName() + " at x=" + inimigo.getX() + ", y=" + inimigo.getY() + ", vivo=" + inimigo.estaVivo());
-            }
+        Mundo novoMundo = new Mundo(canvas.getWidth(), canvas.getHeight(), ticksPorSegundo, seed);
+        novoMundo.setAtualizacaoParalela(Boolean.getBoolean("minicraft.paralelo"));
+        novoMundo.getEntrada().setReprodutor(reprodutor);
+        novoMundo.getEntrada().setGravador(gravador);
+        if (gravador != null) {
+            GravadorEntrada gravacao = gravador;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    gravacao.fechar(novoMundo.getTicks());
+                } catch (IOException e) {
+                    // Direto no stderr, no formato do Log: os ganchos de desligamento rodam juntos,
+                    // e o do Log pode já ter esvaziado o anel quando este registrasse a mensagem
+                    System.err.println("[" + Nivel.ERRO + "] [" + Categoria.JOGO + "] Erro ao fechar gravação de entrada: " + e.getMessage());
+                }
+            }));
         }
+        return novoMundo;
     }
 
-    private void render(long gameTime) {
-        SwingUtilities.invokeLater(() -> {
-            BufferStrategy bs = canvas.getBufferStrategy();
-            if (bs == null) {
-                canvas.createBufferStrategy(3);
-                return;
-            }
-
-            Graphics g = bs.getDrawGraphics();
-
-            g.setColor(Color.BLACK);
-            g.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
-
-            Color skyColor = cronometro.getSkyColor(gameTime);
-            mapa.render(g, camera.getX(), camera.getY(), skyColor);
-
-            player.render(g, camera.getX(), camera.getY());
-            cronometro.render(g);
-
-            for (Inimigo inimigo : inimigos) {
-                if (inimigo.estaVivo()) {
-                    inimigo.render(g, camera.getX(), camera.getY());
-                    System.out.println("Rendering " + inimigo.getClass().getSimpleName() + " at x=" + inimigo.getX() + ", y=" + inimigo.getY());
-                } else {
-                    System.out.println("Skipping render of " + inimigo.getClass().getSimpleName() + " (not alive)");
-                }
-            }
+    private void startGame() {
+        gameLoop = new GameLoop(mundo.getRelogio().getTicksPorSegundo(), MAX_TICKS_POR_FRAME);
+        renderThread = new RenderThread(canvas, mundo.getMapa(), snapshots, gameLoop.getNanosPorTick(), mundo.getProfiler());
+        renderThread.start();
+        gameLoop.run(this::updateGame, null);
+    }
 
-            g.dispose();
-            bs.show();
-        });
+    private void updateGame(float deltaTime) {
+        mundo.atualizar();
+        mundo.capturar(snapshots.paraEscrita(), System.nanoTime());
+        snapshots.publicar();
     }
 
     @Override
     public void keyPressed(KeyEvent e) {
         int keyCode = e.getKeyCode();
-        player.handleKeyPress(keyCode, true);
+        if (keyCode == KeyEvent.VK_F3) {
+            mundo.getProfiler().alternarOverlay();
+            return;
+        }
+        if (keyCode == KeyEvent.VK_F4) {
+            exportarPerfil();
+            return;
+        }
+        mundo.getEntrada().enfileirar(Entrada.TECLA_PRESSIONADA, keyCode);
     }
 
     @Override
     public void keyReleased(KeyEvent e) {
         int keyCode = e.getKeyCode();
-        player.handleKeyPress(keyCode, false);
+        mundo.getEntrada().enfileirar(Entrada.TECLA_SOLTA, keyCode);
+    }
+
+    private void exportarPerfil() {
+        String caminho = "perfil-" + System.currentTimeMillis() + ".csv";
+        try {
+            mundo.getProfiler().exportarCsv(caminho);
+            Log.info(Categoria.JOGO, "Perfil exportado para " + caminho);
+        } catch (IOException e) {
+            Log.erro(Categoria.JOGO, "Erro ao exportar perfil: " + e.getMessage());
+        }
     }
 
     @Override
@@ -161,6 +181,6 @@ public class Jogo extends JFrame implements KeyListener {
         new Jogo();
     }
 
-    public Player getPlayer() { return player; }
-    public ArrayList<Inimigo> getInimigos() { return inimigos; }
+    public Player getPlayer() { return mundo.getPlayer(); }
+    public ArrayList<Inimigo> getInimigos() { return mundo.getInimigos(); }
 }
\ No newline at end of file
@@ -0,0 +1,168 @@
+package minicraft.main;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+import minicraft.core.GameLoop;
+import minicraft.core.ReprodutorEntrada;
+import minicraft.graphics.PreCarregador;
+import minicraft.inimigos.ArmazemInimigos;
+import minicraft.inimigos.Creeper;
+import minicraft.inimigos.Slime;
+import minicraft.inimigos.Zumbi;
+import minicraft.world.Mundo;
+
+// Roda a simulação sem JFrame/Canvas, para CI e testes de carga.
+// Uso: java minicraft.main.JogoHeadless [--ticks N] [--tps N] [--inimigos N] [--seed N]
+//                                       [--perfil arquivo.csv] [--reproduzir gravacao.bin] [--paralelo true]
+//                                       [--precarregar true]
+//   --tps 0 roda o mais rápido possível; caso contrário usa passo fixo com GameLoop.
+//   --perfil grava os tempos por fase do tick em CSV ao final.
+//   --reproduzir alimenta a entrada gravada no jogo e roda até o último tick gravado;
+//     a assinatura impressa no final permite comparar o resultado entre builds.
+//   --paralelo true atualiza multidões de inimigos em paralelo no ForkJoinPool.
+//   --precarregar true decodifica todos os sprites em paralelo antes de criar o mundo e
+//     imprime o tempo da carga (o tempo por arquivo sai no log de GRAFICOS em INFO).
+public class JogoHeadless {
+    private static final int LARGURA_TELA = 1200;
+    private static final int ALTURA_TELA = 1000;
+
+    private final Mundo mundo;
+    private final long totalTicks;
+    private final ReprodutorEntrada reprodutor;
+    private final int ticksPorSegundo;
+    private long inicioRelatorio;
+    private long ticksRelatorio;
+
+    // Com reprodutor, a taxa de ticks simulada e a semente vêm da gravação
+    public JogoHeadless(long totalTicks, int ticksPorSegundo, int inimigosExtras, long seed, ReprodutorEntrada reprodutor) {
+        this.totalTicks = totalTicks;
+        this.ticksPorSegundo = ticksPorSegundo;
+        this.reprodutor = reprodutor;
+
+        int ticksSimulados = ticksPorSegundo > 0 ? ticksPorSegundo : 60;
+        if (reprodutor != null) {
+            ticksSimulados = reprodutor.getTicksPorSegundo();
+            seed = reprodutor.getSeed();
+        }
+        this.mundo = new Mundo(LARGURA_TELA, ALTURA_TELA, ticksSimulados, seed);
+        mundo.getEntrada().setReprodutor(reprodutor);
+
+        // Posições sorteadas pelo gerador do mundo, o mesmo da semente gravada
+        SplittableRandom random = mundo.getRandom();
+        ArmazemInimigos armazem = mundo.getArmazem();
+        for (int i = 0; i < inimigosExtras; i++) {
+            int x = random.nextInt(LARGURA_TELA);
+            int y = random.nextInt(ALTURA_TELA);
+            switch (i % 3) {
+                case 0: mundo.adicionarInimigo(new Creeper(armazem, x, y)); break;
+                case 1: mundo.adicionarInimigo(new Slime(armazem, x, y)); break;
+                default: mundo.adicionarInimigo(new Zumbi(armazem, x, y)); break;
+            }
+        }
+    }
+
+    private boolean terminou() {
+        if (reprodutor != null) return reprodutor.terminou(mundo.getTicks());
+        return mundo.getTicks() >= totalTicks;
+    }
+
+    public void executar() {
+        long inicio = System.nanoTime();
+        inicioRelatorio = inicio;
+
+        if (ticksPorSegundo > 0) {
+            GameLoop loop = new GameLoop(ticksPorSegundo, 5);
+            loop.run(deltaTime -> {
+                tick();
+                if (terminou()) loop.parar();
+            }, null);
+        } else {
+            while (!terminou()) {
+                tick();
+            }
+        }
+
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        System.out.printf("Concluído: %d ticks em %.3fs (%.1f ticks/s), %d inimigos vivos de %d%n",
+            mundo.getTicks(), segundos, mundo.getTicks() / segundos,
+            mundo.contarInimigosVivos(), mundo.getInimigos().size());
+        System.out.printf("Assinatura do estado: %016x%n", mundo.calcularAssinatura());
+    }
+
+    private void tick() {
+        mundo.atualizar();
+        ticksRelatorio++;
+
+        long agora = System.nanoTime();
+        if (agora - inicioRelatorio >= 1_000_000_000L) {
+            double ticksPorSeg = ticksRelatorio * 1e9 / (agora - inicioRelatorio);
+            System.out.printf("tick %d: %.1f ticks/s%n", mundo.getTicks(), ticksPorSeg);
+            inicioRelatorio = agora;
+            ticksRelatorio = 0;
+        }
+    }
+
+    public Mundo getMundo() { return mundo; }
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        long ticks = 6000;
+        int tps = 0;
+        int inimigos = 0;
+        long seed = 42;
+        String perfil = null;
+        String reproduzir = null;
+        boolean paralelo = false;
+        boolean precarregar = false;
+
+        for (int i = 0; i < args.length - 1; i += 2) {
+            switch (args[i]) {
+                case "--ticks": ticks = Long.parseLong(args[i + 1]); break;
+                case "--tps": tps = Integer.parseInt(args[i + 1]); break;
+                case "--inimigos": inimigos = Integer.parseInt(args[i + 1]); break;
+                case "--seed": seed = Long.parseLong(args[i + 1]); break;
+                case "--perfil": perfil = args[i + 1]; break;
+                case "--reproduzir": reproduzir = args[i + 1]; break;
+                case "--paralelo": paralelo = Boolean.parseBoolean(args[i + 1]); break;
+                case "--precarregar": precarregar = Boolean.parseBoolean(args[i + 1]); break;
+                default: throw new IllegalArgumentException("Argumento desconhecido: " + args[i]);
+            }
+        }
+
+        ReprodutorEntrada reprodutor = null;
+        if (reproduzir != null) {
+            try {
+                reprodutor = new ReprodutorEntrada(reproduzir);
+            } catch (IOException e) {
+                System.out.println("Erro ao abrir gravação: " + e.getMessage());
+                System.exit(1);
+            }
+        }
+
+        if (precarregar) {
+            PreCarregador carga = new PreCarregador(PreCarregador.PASTA_SPRITES).iniciar();
+            try {
+                carga.aguardar();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            carga.relatar();
+            System.out.printf("Pré-carga: %d imagens em %.1f ms%n", carga.getTotal(), carga.getNanosTotal() / 1e6);
+        }
+
+        JogoHeadless jogo = new JogoHeadless(ticks, tps, inimigos, seed, reprodutor);
+        jogo.getMundo().setAtualizacaoParalela(paralelo);
+        jogo.executar();
+        if (perfil != null) {
+            try {
+                jogo.getMundo().getProfiler().exportarCsv(perfil);
+            } catch (IOException e) {
+                System.out.println("Erro ao exportar perfil: ");
+                e.printStackTrace();
+            }
+        }
+        System.exit(0);
+    }
+}
@@ -1,26 +1,42 @@
 package minicraft.player;
 
 import java.awt.Graphics;
-import java.awt.Graphics2D;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Timer;
-import java.util.TimerTask;
 
+import minicraft.core.GameClock;
+import minicraft.core.Log;
+import minicraft.core.Log.Categoria;
+import minicraft.core.Log.Nivel;
+import minicraft.graphics.AssetManager;
+import minicraft.graphics.ClipeAnimacao;
+import minicraft.graphics.ConjuntoAnimacoes;
+import minicraft.graphics.CursorAnimacao;
+import minicraft.graphics.RenderSnapshot;
+import minicraft.graphics.SistemaParticulas;
 import minicraft.graphics.SpriteSheet;
 import minicraft.inimigos.Inimigo;
+import minicraft.world.GradeEspacial;
 
 public class Player {
-    private int x, y, speed = 4, frame;
+    // O ordinal é o índice do clipe no conjunto compartilhado
+    private enum Estado { PARADO, ANDANDO, ATACANDO }
+
+    // O ataque troca de quadro pelo tempo desde o clique (ver updateAttack), não pelo cursor
+    private static final int MS_QUADRO_ATAQUE = 62;
+    private static final float[] DURACAO_FRAMES = {0.5f, 0.08f, MS_QUADRO_ATAQUE / 1000f};
+
+    private int x, y, speed = 4;
+    private int xAnterior, yAnterior;
     private int vida = 100;
     private boolean up, down, left, right, facingRight = true;
-    private String state = "PARADO";
-    private SpriteSheet spriteSheet;
-    private HashMap<String, BufferedImage[]> animations;
-    private Timer idleTimer;
+    private Estado estado = Estado.PARADO;
+    private final CursorAnimacao cursor = new CursorAnimacao();
+    private final ConjuntoAnimacoes animacoes;
+    private final GameClock relogio;
+    private static final int RAIO_TOCHA = 180;
     private final int larguraHitbox = 48;
     private final int alturaHitbox = 48;
 
@@ -32,37 +48,35 @@ public class Player {
     private final int attackWidth = 70;
     private final int attackHeight = 100;
     private final int attackRange = -20;
-    private ArrayList<AttackParticle> attackParticles = new ArrayList<>();
+    private SistemaParticulas particulas;
+    private final ArrayList<Inimigo> candidatosAtaque = new ArrayList<>();
 
-    // Controle de animação
-    private int animationSpeed = 5;
-    private int animationCounter = 0;
-
-    public Player(int x, int y) {
+    public Player(int x, int y, GameClock relogio) {
         this.x = x;
         this.y = y;
+        this.relogio = relogio;
+        this.xAnterior = x;
+        this.yAnterior = y;
 
-        this.spriteSheet = new SpriteSheet("minicraft/graphics/sprites/steve_sprites1.png", 18, 18);
-        this.animations = new HashMap<>();
-
-        loadAnimations();
-        startIdleAnimation();
+        this.animacoes = AssetManager.getAnimacoes("player", "minicraft/graphics/sprites/steve_sprites1.png", 18, 18,
+            Player::fatiar, DURACAO_FRAMES);
     }
 
-    private void loadAnimations() {
-        animations.put("PARADO", new BufferedImage[]{
+    private static BufferedImage[][] fatiar(SpriteSheet spriteSheet) {
+        BufferedImage[][] animacoes = new BufferedImage[Estado.values().length][];
+        animacoes[Estado.PARADO.ordinal()] = new BufferedImage[]{
             spriteSheet.getSprite(0, 0),
             spriteSheet.getSprite(18, 0),
-        });
+        };
 
-        animations.put("ANDANDO", new BufferedImage[]{
+        animacoes[Estado.ANDANDO.ordinal()] = new BufferedImage[]{
             spriteSheet.getSprite(0, 18),
             spriteSheet.getSprite(18, 18),
             spriteSheet.getSprite(36, 18),
             spriteSheet.getSprite(54, 18),
-        });
+        };
 
-        animations.put("ATACANDO", new BufferedImage[]{
+        animacoes[Estado.ATACANDO.ordinal()] = new BufferedImage[]{
             spriteSheet.getSprite(0, 54),
             spriteSheet.getSprite(18, 54),
             spriteSheet.getSprite(36, 54),
@@ -71,91 +85,107 @@ public class Player {
             spriteSheet.getSprite(90, 54),
             spriteSheet.getSprite(108, 54),
             spriteSheet.getSprite(126, 54)
-        });
+        };
+        return animacoes;
+    }
+
+    private ClipeAnimacao clipe(Estado e) {
+        return animacoes.getClipe(e.ordinal());
+    }
+
+    // Cada troca de estado começa o clipe do início
+    private void mudarEstado(Estado novo) {
+        if (novo == estado) return;
+        estado = novo;
+        cursor.reiniciar();
     }
 
     public void handleMousePress(MouseEvent e) {
-        if (e.getButton() == MouseEvent.BUTTON1 && !attacking) {
+        handleMouseButton(e.getButton());
+    }
+
+    public void handleMouseButton(int button) {
+        if (button == MouseEvent.BUTTON1 && !attacking) {
             startAttack();
         }
     }
 
     private void startAttack() {
-        state = "ATACANDO";
+        mudarEstado(Estado.ATACANDO);
         attacking = true;
         attackFrame = 0;
-        lastAttackTime = System.currentTimeMillis();
+        lastAttackTime = relogio.getTempoMillis();
         createAttackParticles();
     }
 
     private void createAttackParticles() {
+        if (particulas == null) return;
         int particleX = facingRight ? x + larguraHitbox + attackRange : x - attackWidth - attackRange;
         int particleY = y + (alturaHitbox / 2) - (attackHeight / 2);
+        particulas.emitirCorte(particleX, particleY, attackHeight, facingRight);
+    }
 
-        for (int i = 0; i < 3; i++) {
-            attackParticles.add(new AttackParticle(
-                particleX + (facingRight ? i * 20 : -i * 20),
-                particleY + (int)(Math.random() * attackHeight),
-                facingRight
-            ));
-        }
+    // Sem sistema de partículas (benchmarks, testes) o ataque simplesmente não emite nada
+    public void setParticulas(SistemaParticulas particulas) {
+        this.particulas = particulas;
     }
 
     public void update(ArrayList<Inimigo> inimigos) {
         if (attacking) {
-            updateAttack(inimigos);
+            updateAttack(inimigos, null);
             return;
         }
+        updateMovimento();
+    }
 
+    // Com a grade, o ataque só testa os inimigos das células em volta da área de ataque
+    public void update(GradeEspacial grade) {
+        if (attacking) {
+            updateAttack(candidatosAtaque, grade);
+            return;
+        }
+        updateMovimento();
+    }
+
+    private void updateMovimento() {
         boolean moving = false;
 
         if (left) {
             x -= speed;
             facingRight = false;
-            state = "ANDANDO";
             moving = true;
         }
         if (right) {
             x += speed;
             facingRight = true;
-            state = "ANDANDO";
             moving = true;
         }
         if (up) {
             y -= speed;
-            state = "ANDANDO";
             moving = true;
         }
         if (down) {
             y += speed;
-            state = "ANDANDO";
             moving = true;
         }
 
-        if (!moving) {
-            state = "PARADO";
-        }
-
-        if (state.equals("ANDANDO")) {
-            animationCounter++;
-            if (animationCounter >= animationSpeed) {
-                frame = (frame + 1) % animations.get("ANDANDO").length;
-                animationCounter = 0;
-            }
-        }
+        mudarEstado(moving ? Estado.ANDANDO : Estado.PARADO);
+        cursor.avancar(clipe(estado), relogio.getDeltaTime());
     }
 
-    private void updateAttack(ArrayList<Inimigo> inimigos) {
-        long currentTime = System.currentTimeMillis();
-        attackFrame = (int)((currentTime - lastAttackTime) / 62);
+    private void updateAttack(ArrayList<Inimigo> inimigos, GradeEspacial grade) {
+        long currentTime = relogio.getTempoMillis();
+        attackFrame = (int)((currentTime - lastAttackTime) / MS_QUADRO_ATAQUE);
 
-        if (attackFrame >= animations.get("ATACANDO").length) {
+        if (attackFrame >= clipe(Estado.ATACANDO).getQuantidade()) {
             attacking = false;
-            state = "PARADO";
-            attackParticles.clear();
+            mudarEstado(Estado.PARADO);
         } else {
             java.awt.Rectangle attackArea = getAttackArea();
             if (attackArea != null) {
+                if (grade != null) {
+                    grade.consultarRetangulo(attackArea.x, attackArea.y, attackArea.width, attackArea.height, inimigos);
+                }
                 for (Inimigo inimigo : inimigos) {
                     if (inimigo.estaVivo() && attackArea.intersects(
                             inimigo.getHitboxX() - inimigo.getLarguraHitbox() / 2,
@@ -167,42 +197,36 @@ public class Player {
                 }
             }
         }
-
-        for (int i = attackParticles.size() - 1; i >= 0; i--) {
-            if (!attackParticles.get(i).update()) {
-                attackParticles.remove(i);
-            }
-        }
     }
 
     public void render(Graphics g, int cameraX, int cameraY) {
-        BufferedImage sprite;
+        render(g, cameraX, cameraY, 1.0f);
+    }
+
+    private BufferedImage getSpriteAtual() {
+        int lado = SpriteSheet.lado(facingRight);
         if (attacking) {
-            sprite = animations.get("ATACANDO")[attackFrame % animations.get("ATACANDO").length];
-        } else {
-            int maxFrame = animations.get(state).length - 1;
-            if (frame > maxFrame) frame = maxFrame;
-            sprite = animations.get(state)[frame];
+            return clipe(Estado.ATACANDO).getQuadro(lado, attackFrame);
         }
+        return clipe(estado).getQuadro(lado, cursor.getQuadro());
+    }
 
-        if (!facingRight) {
-            sprite = flipImage(sprite);
-        }
+    public void render(Graphics g, int cameraX, int cameraY, float alpha) {
+        BufferedImage sprite = getSpriteAtual();
 
         int spriteWidth = 48;
         int spriteHeight = 48;
         int offsetX = (larguraHitbox - spriteWidth) / 2;
         int offsetY = (alturaHitbox - spriteHeight) / 2;
 
+        int renderX = Math.round(xAnterior + (x - xAnterior) * alpha);
+        int renderY = Math.round(yAnterior + (y - yAnterior) * alpha);
+
         g.drawImage(sprite,
-            x - cameraX + offsetX,
-            y - cameraY + offsetY,
+            renderX - cameraX + offsetX,
+            renderY - cameraY + offsetY,
             spriteWidth, spriteHeight, null);
 
-        for (AttackParticle particle : attackParticles) {
-            particle.render(g, cameraX, cameraY);
-        }
-
         java.awt.Rectangle attackArea = getAttackArea();
         if (attackArea != null) {
             g.setColor(java.awt.Color.RED);
@@ -210,14 +234,19 @@ public class Player {
         }
     }
 
-    private BufferedImage flipImage(BufferedImage image) {
-        int w = image.getWidth();
-        int h = image.getHeight();
-        BufferedImage flipped = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g2d = flipped.createGraphics();
-        g2d.drawImage(image, 0, 0, w, h, w, 0, 0, h, null);
-        g2d.dispose();
-        return flipped;
+    public void capturar(RenderSnapshot snapshot) {
+        int offsetX = (larguraHitbox - 48) / 2;
+        int offsetY = (alturaHitbox - 48) / 2;
+        snapshot.adicionarSprite(getSpriteAtual(), animacoes.getLote(),
+            xAnterior + offsetX, yAnterior + offsetY, x + offsetX, y + offsetY, 48, 48);
+        // O jogador carrega uma tocha: só aparece quando o céu escurece
+        snapshot.adicionarLuz(xAnterior + larguraHitbox / 2, yAnterior + alturaHitbox / 2,
+            x + larguraHitbox / 2, y + alturaHitbox / 2, RAIO_TOCHA, 1f);
+
+        java.awt.Rectangle attackArea = getAttackArea();
+        if (attackArea != null) {
+            snapshot.adicionarRetangulo(java.awt.Color.RED, attackArea.x, attackArea.y, attackArea.width, attackArea.height);
+        }
     }
 
     public java.awt.Rectangle getAttackArea() {
@@ -229,35 +258,10 @@ public class Player {
         return new java.awt.Rectangle(attackX, attackY, attackWidth, attackHeight);
     }
 
-    private class AttackParticle {
-        int x, y;
-        int life = 10;
-        boolean facingRight;
-        BufferedImage sprite;
-
-        AttackParticle(int x, int y, boolean facingRight) {
-            this.x = x;
-            this.y = y;
-            this.facingRight = facingRight;
-            this.sprite = spriteSheet.getSprite(144, 36);
-        }
-
-        boolean update() {
-            life--;
-            x += facingRight ? 3 : -3;
-            return life > 0;
-        }
-
-        void render(Graphics g, int cameraX, int cameraY) {
-            BufferedImage toDraw = facingRight ? sprite : flipImage(sprite);
-            g.drawImage(toDraw, x - cameraX - 8, y - cameraY - 8, 16, 16, null);
-        }
-    }
-
     public void tomarDano(int dano) {
         vida -= dano;
         if (vida < 0) vida = 0;
-        System.out.println("Jogador tomou " + dano + " de dano! Vida restante: " + vida);
+        if (Log.ativo(Categoria.JOGADOR, Nivel.INFO)) Log.info(Categoria.JOGADOR, "Jogador tomou " + dano + " de dano! Vida restante: " + vida);
     }
 
     public boolean estaVivo() {
@@ -268,18 +272,14 @@ public class Player {
         return vida;
     }
 
-    private void startIdleAnimation() {
-        idleTimer = new Timer();
-        idleTimer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                if (state.equals("PARADO")) {
-                    javax.swing.SwingUtilities.invokeLater(() -> {
-                        frame = (frame + 1) % animations.get("PARADO").length;
-                    });
-                }
-            }
-        }, 500, 500);
+    public boolean isAttacking() {
+        return attacking;
+    }
+
+    // Chamado antes de cada tick para permitir interpolar a posição no render
+    public void marcarPosicaoAnterior() {
+        xAnterior = x;
+        yAnterior = y;
     }
 
     public void handleKeyPress(int keyCode, boolean pressed) {
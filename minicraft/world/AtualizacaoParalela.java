@@ -0,0 +1,75 @@
+package minicraft.world;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import minicraft.inimigos.ArmazemInimigos;
+import minicraft.player.Player;
+
+// Atualiza os inimigos em lotes num ForkJoinPool. Cada inimigo só escreve nas próprias
+// posições das colunas do armazém e lê o jogador já atualizado neste tick; o dano ao
+// jogador fica pendente no armazém e é aplicado depois, na ordem dos índices, para o
+// resultado ser o mesmo da atualização sequencial.
+public class AtualizacaoParalela {
+    private static final int TAMANHO_LOTE = 128;
+
+    private final ForkJoinPool pool;
+    // Os lotes caem sempre nas mesmas posições (múltiplos de TAMANHO_LOTE), então cada
+    // posição tem a sua contagem para a máquina de estados, criada uma vez e reaproveitada
+    private int[][] contagens = new int[0][];
+
+    public AtualizacaoParalela(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public void atualizar(ArmazemInimigos armazem, Player player, float deltaTime) {
+        int total = armazem.getTotal();
+        int lotes = (total + TAMANHO_LOTE - 1) / TAMANHO_LOTE;
+        if (lotes > contagens.length) {
+            int n = contagens.length;
+            contagens = Arrays.copyOf(contagens, Math.max(lotes, n * 2));
+            for (; n < contagens.length; n++) contagens[n] = ArmazemInimigos.novaContagem();
+        }
+
+        armazem.setAdiarDano(true);
+        pool.invoke(new Lote(armazem, contagens, player, deltaTime, 0, total));
+
+        // Fase de junção determinística
+        armazem.aplicarDanosPendentes(player);
+        armazem.setAdiarDano(false);
+    }
+
+    private static class Lote extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final ArmazemInimigos armazem;
+        private final int[][] contagens;
+        private final Player player;
+        private final float deltaTime;
+        private final int inicio, fim;
+
+        Lote(ArmazemInimigos armazem, int[][] contagens, Player player, float deltaTime, int inicio, int fim) {
+            this.armazem = armazem;
+            this.contagens = contagens;
+            this.player = player;
+            this.deltaTime = deltaTime;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        @Override
+        protected void compute() {
+            if (fim - inicio <= TAMANHO_LOTE) {
+                armazem.atualizar(player, deltaTime, inicio, fim, contagens[inicio / TAMANHO_LOTE]);
+                return;
+            }
+
+            // Divide na metade dos lotes, não das posições, para as folhas ficarem alinhadas
+            int lotes = (fim - inicio + TAMANHO_LOTE - 1) / TAMANHO_LOTE;
+            int meio = inicio + lotes / 2 * TAMANHO_LOTE;
+            invokeAll(new Lote(armazem, contagens, player, deltaTime, inicio, meio),
+                      new Lote(armazem, contagens, player, deltaTime, meio, fim));
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package minicraft.world;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import minicraft.inimigos.Inimigo;
+
+// Grade uniforme de inimigos indexada pela célula do mundo. Cada célula é uma lista
+// encadeada dentro de arrays (cabeca/proximo/anterior), então mover um inimigo de
+// célula é O(1) e não aloca. O id de cada inimigo é a sua posição na lista do Mundo.
+// As consultas são conservadoras: devolvem candidatos e quem chama faz o teste exato.
+public class GradeEspacial {
+    private static final int NENHUM = -1;
+
+    private final int tamanhoCelula;
+    private final int colunas, linhas;
+    // Maior distância entre o ponto de referência (x, y) de um inimigo e sua hitbox
+    private final int margem;
+    private final int[] cabeca;
+    // Células tocadas pela última marcarRaio guardam o número da marcação
+    private final int[] marcaCelula;
+    private int marcaAtual = 0;
+
+    private Inimigo[] entidades = new Inimigo[64];
+    private int[] celulaDe = new int[64];
+    // Canto superior esquerdo da célula atual, para saber sem dividir se o inimigo saiu dela
+    private int[] origemX = new int[64];
+    private int[] origemY = new int[64];
+    private int[] proximo = new int[64];
+    private int[] anterior = new int[64];
+
+    public GradeEspacial(int larguraMundo, int alturaMundo, int tamanhoCelula, int margem) {
+        this.tamanhoCelula = tamanhoCelula;
+        this.colunas = Math.max(1, (larguraMundo + tamanhoCelula - 1) / tamanhoCelula);
+        this.linhas = Math.max(1, (alturaMundo + tamanhoCelula - 1) / tamanhoCelula);
+        this.margem = margem;
+        this.cabeca = new int[colunas * linhas];
+        this.marcaCelula = new int[colunas * linhas];
+        Arrays.fill(cabeca, NENHUM);
+        Arrays.fill(celulaDe, NENHUM);
+    }
+
+    public void inserir(int id, Inimigo inimigo) {
+        garantirCapacidade(id + 1);
+        entidades[id] = inimigo;
+        ligar(id, celula(inimigo.getX(), inimigo.getY()));
+    }
+
+    // Chamado depois que o inimigo se move; só mexe nas listas se ele trocou de célula
+    public void atualizar(int id, int x, int y) {
+        int atual = celulaDe[id];
+        if (atual == NENHUM) return;
+        int dx = x - origemX[id];
+        int dy = y - origemY[id];
+        if (dx >= 0 && dx < tamanhoCelula && dy >= 0 && dy < tamanhoCelula) return;
+
+        int nova = celula(x, y);
+        if (nova != atual) {
+            desligar(id);
+            ligar(id, nova);
+        }
+    }
+
+    public void remover(int id) {
+        if (id < entidades.length && celulaDe[id] != NENHUM) {
+            desligar(id);
+        }
+    }
+
+    public boolean contem(int id) {
+        return id < entidades.length && celulaDe[id] != NENHUM;
+    }
+
+    // Inimigos cuja hitbox (x, y, largura, altura) pode tocar o retângulo. A hitbox cresce
+    // para a direita e para baixo do ponto de referência, então só o lado esquerdo e o de
+    // cima precisam da margem.
+    public void consultarRetangulo(int x, int y, int largura, int altura, ArrayList<Inimigo> resultado) {
+        resultado.clear();
+        int colunaInicio = coluna(x - margem);
+        int colunaFim = coluna(x + largura);
+        int linhaInicio = linha(y - margem);
+        int linhaFim = linha(y + altura);
+
+        for (int l = linhaInicio; l <= linhaFim; l++) {
+            for (int c = colunaInicio; c <= colunaFim; c++) {
+                for (int id = cabeca[l * colunas + c]; id != NENHUM; id = proximo[id]) {
+                    resultado.add(entidades[id]);
+                }
+            }
+        }
+    }
+
+    // Inimigos possivelmente a até 'raio' do ponto; as células fora do círculo são puladas
+    public void consultarRaio(int cx, int cy, int raio, ArrayList<Inimigo> resultado) {
+        resultado.clear();
+        percorrerRaio(cx, cy, raio, resultado);
+    }
+
+    // Mesma consulta, mas só marca as células; quem está nelas responde a estaMarcado()
+    // sem montar lista nem desmarcar nada no próximo tick
+    public void marcarRaio(int cx, int cy, int raio) {
+        marcaAtual++;
+        percorrerRaio(cx, cy, raio, null);
+    }
+
+    public boolean estaMarcado(int id) {
+        int celula = celulaDe[id];
+        return celula != NENHUM && marcaCelula[celula] == marcaAtual;
+    }
+
+    private void percorrerRaio(int cx, int cy, int raio, ArrayList<Inimigo> resultado) {
+        int alcance = raio + margem;
+        int colunaInicio = coluna(cx - alcance);
+        int colunaFim = coluna(cx + alcance);
+        int linhaInicio = linha(cy - alcance);
+        int linhaFim = linha(cy + alcance);
+        long alcanceQuadrado = (long) alcance * alcance;
+
+        for (int l = linhaInicio; l <= linhaFim; l++) {
+            int topo = l * tamanhoCelula;
+            long dy = cy < topo ? topo - cy : Math.max(0, cy - (topo + tamanhoCelula));
+            for (int c = colunaInicio; c <= colunaFim; c++) {
+                int esquerda = c * tamanhoCelula;
+                long dx = cx < esquerda ? esquerda - cx : Math.max(0, cx - (esquerda + tamanhoCelula));
+                if (dx * dx + dy * dy > alcanceQuadrado) continue;
+
+                int celula = l * colunas + c;
+                if (resultado == null) {
+                    marcaCelula[celula] = marcaAtual;
+                    continue;
+                }
+                for (int id = cabeca[celula]; id != NENHUM; id = proximo[id]) {
+                    resultado.add(entidades[id]);
+                }
+            }
+        }
+    }
+
+    private int celula(int x, int y) {
+        return linha(y) * colunas + coluna(x);
+    }
+
+    // Posições fora do mapa caem na célula da borda
+    private int coluna(int x) {
+        return Math.max(0, Math.min(colunas - 1, Math.floorDiv(x, tamanhoCelula)));
+    }
+
+    private int linha(int y) {
+        return Math.max(0, Math.min(linhas - 1, Math.floorDiv(y, tamanhoCelula)));
+    }
+
+    private void ligar(int id, int celula) {
+        int primeiro = cabeca[celula];
+        proximo[id] = primeiro;
+        anterior[id] = NENHUM;
+        if (primeiro != NENHUM) anterior[primeiro] = id;
+        cabeca[celula] = id;
+        celulaDe[id] = celula;
+        origemX[id] = (celula % colunas) * tamanhoCelula;
+        origemY[id] = (celula / colunas) * tamanhoCelula;
+    }
+
+    private void desligar(int id) {
+        int celula = celulaDe[id];
+        if (anterior[id] != NENHUM) {
+            proximo[anterior[id]] = proximo[id];
+        } else {
+            cabeca[celula] = proximo[id];
+        }
+        if (proximo[id] != NENHUM) {
+            anterior[proximo[id]] = anterior[id];
+        }
+        celulaDe[id] = NENHUM;
+    }
+
+    private void garantirCapacidade(int capacidade) {
+        if (capacidade <= entidades.length) return;
+        int nova = Math.max(capacidade, entidades.length * 2);
+        int antiga = entidades.length;
+        entidades = Arrays.copyOf(entidades, nova);
+        celulaDe = Arrays.copyOf(celulaDe, nova);
+        Arrays.fill(celulaDe, antiga, nova, NENHUM);
+        origemX = Arrays.copyOf(origemX, nova);
+        origemY = Arrays.copyOf(origemY, nova);
+        proximo = Arrays.copyOf(proximo, nova);
+        anterior = Arrays.copyOf(anterior, nova);
+    }
+}
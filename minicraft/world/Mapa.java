@@ -1,27 +1,49 @@
 package minicraft.world;
 
-import java.io.File;
-import java.io.IOException;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
 import java.awt.Color;
 
+import minicraft.core.Log;
+import minicraft.core.Log.Categoria;
+import minicraft.graphics.AssetManager;
+import minicraft.graphics.CamadaVolatil;
+
 
 public class Mapa {
+    // O terreno é fatiado em pedaços quadrados e só os que cruzam a tela são desenhados,
+    // então o custo por frame depende do tamanho da tela e não do mapa
+    private static final int TAMANHO_CHUNK = 256;
+
     private BufferedImage mapaImage;
+    private CamadaVolatil[][] chunks; // [linha][coluna]
+    private int colunas, linhas;
 
     public Mapa() {
         try {
-            mapaImage = ImageIO.read(new File("minicraft/graphics/sprites/mapatotal.png"));
-            if (mapaImage == null) {
-                System.out.println("Erro: a imagem do mapa não foi carregada!");
-            } else {
-                System.out.println("Mapa carregado! Dimensões: " + mapaImage.getWidth() + "x" + mapaImage.getHeight());
+            mapaImage = AssetManager.getImagem("minicraft/graphics/sprites/mapatotal.png");
+            criarChunks();
+            Log.info(Categoria.MAPA, "Mapa carregado! Dimensões: " + mapaImage.getWidth() + "x" + mapaImage.getHeight());
+        } catch (IllegalStateException e) {
+            Log.erro(Categoria.MAPA, "Erro ao carregar a imagem do mapa: " + e.getCause());
+        }
+    }
+
+    // As VolatileImages de cada pedaço só são criadas quando ele aparece pela primeira vez
+    private void criarChunks() {
+        int largura = mapaImage.getWidth();
+        int altura = mapaImage.getHeight();
+        colunas = (largura + TAMANHO_CHUNK - 1) / TAMANHO_CHUNK;
+        linhas = (altura + TAMANHO_CHUNK - 1) / TAMANHO_CHUNK;
+        chunks = new CamadaVolatil[linhas][colunas];
+        for (int l = 0; l < linhas; l++) {
+            for (int c = 0; c < colunas; c++) {
+                int x = c * TAMANHO_CHUNK;
+                int y = l * TAMANHO_CHUNK;
+                chunks[l][c] = new CamadaVolatil(mapaImage, x, y,
+                    Math.min(TAMANHO_CHUNK, largura - x), Math.min(TAMANHO_CHUNK, altura - y));
             }
-        } catch (IOException e) {
-            System.out.println("Erro ao carregar a imagem do mapa: ");
-            e.printStackTrace();
         }
     }
 
@@ -33,15 +55,33 @@ public class Mapa {
         return (mapaImage != null) ? mapaImage.getHeight() : 0;
     }
 
-    public void render(Graphics g, int cameraX, int cameraY, Color skyColor) {
+    public void render(Graphics g, int cameraX, int cameraY, int larguraTela, int alturaTela, Color skyColor) {
         if (mapaImage != null) {
-            g.drawImage(mapaImage, -cameraX, -cameraY, null);
-            applyDayNightEffect(g, skyColor); // Aplica o efeito de iluminação
+            renderTerreno(g, cameraX, cameraY, larguraTela, alturaTela);
+            applyDayNightEffect(g, skyColor, larguraTela, alturaTela); // Aplica o efeito de iluminação
+        }
+    }
+
+    public void renderTerreno(Graphics g, int cameraX, int cameraY, int larguraTela, int alturaTela) {
+        if (chunks == null) return;
+
+        int colunaInicio = Math.max(0, Math.floorDiv(cameraX, TAMANHO_CHUNK));
+        int linhaInicio = Math.max(0, Math.floorDiv(cameraY, TAMANHO_CHUNK));
+        int colunaFim = Math.min(colunas - 1, Math.floorDiv(cameraX + larguraTela - 1, TAMANHO_CHUNK));
+        int linhaFim = Math.min(linhas - 1, Math.floorDiv(cameraY + alturaTela - 1, TAMANHO_CHUNK));
+
+        Graphics2D g2d = (Graphics2D) g;
+        for (int l = linhaInicio; l <= linhaFim; l++) {
+            for (int c = colunaInicio; c <= colunaFim; c++) {
+                chunks[l][c].desenhar(g2d, c * TAMANHO_CHUNK - cameraX, l * TAMANHO_CHUNK - cameraY);
+            }
         }
     }
 
-    private void applyDayNightEffect(Graphics g, Color skyColor) {
-        g.setColor(skyColor); 
-        g.fillRect(0, 0, mapaImage.getWidth(), mapaImage.getHeight());
+    // O tom é aplicado em coordenadas de tela, só sobre a área visível
+    private void applyDayNightEffect(Graphics g, Color skyColor, int larguraTela, int alturaTela) {
+        if (skyColor == null || skyColor.getAlpha() == 0) return; // Meio-dia não escurece nada
+        g.setColor(skyColor);
+        g.fillRect(0, 0, larguraTela, alturaTela);
     }
 }
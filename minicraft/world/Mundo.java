@@ -0,0 +1,245 @@
+package minicraft.world;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import minicraft.core.Agendador;
+import minicraft.core.Entrada;
+import minicraft.core.GameClock;
+import minicraft.core.Log;
+import minicraft.core.Log.Categoria;
+import minicraft.core.Log.Nivel;
+import minicraft.core.Profiler;
+import minicraft.core.Profiler.Fase;
+import minicraft.graphics.Camera;
+import minicraft.graphics.Cronometro;
+import minicraft.graphics.RenderSnapshot;
+import minicraft.graphics.LuzesTemporarias;
+import minicraft.graphics.SistemaParticulas;
+import minicraft.inimigos.ArmazemInimigos;
+import minicraft.inimigos.Creeper;
+import minicraft.inimigos.Inimigo;
+import minicraft.inimigos.Slime;
+import minicraft.inimigos.Zumbi;
+import minicraft.player.Player;
+
+// Estado da simulação, independente de janela ou Canvas
+public class Mundo {
+    // Abaixo disso o custo de dividir o trabalho supera o ganho
+    private static final int LIMIAR_PARALELO = 256;
+    private static final int TAMANHO_CELULA = 128;
+    // Cobre a maior hitbox (Slime, 108) e a diferença entre canto e centro do jogador
+    private static final int MARGEM_GRADE = 128;
+    // Folga da consulta de captura: sprites são desenhados até 18px à esquerda/acima da origem
+    // e a câmera anda entre o tick anterior e o atual
+    private static final int MARGEM_CAPTURA = 64;
+    private static final int RAIO_CLARAO_EXPLOSAO = 240;
+    private static final int DURACAO_CLARAO_EXPLOSAO = 30;
+
+    private final Mapa mapa;
+    private final Player player;
+    private final Camera camera;
+    private final Cronometro cronometro;
+    private final ArrayList<Inimigo> inimigos;
+    private final ArrayList<Inimigo> visiveis = new ArrayList<>();
+    private final ArmazemInimigos armazem = new ArmazemInimigos(64);
+    private final int larguraTela, alturaTela;
+    private final Profiler profiler = new Profiler();
+    private final Entrada entrada = new Entrada();
+    private final GameClock relogio;
+    private final Agendador agendador;
+    private final SplittableRandom random;
+    private final long seed;
+    private final GradeEspacial grade;
+    private final SistemaParticulas particulas;
+    private final LuzesTemporarias claroes = new LuzesTemporarias(256);
+    private int maiorRaioDetecao = 0;
+    private AtualizacaoParalela atualizacaoParalela;
+
+    public Mundo(int larguraTela, int alturaTela, int ticksPorSegundo, long seed) {
+        this.larguraTela = larguraTela;
+        this.alturaTela = alturaTela;
+        this.seed = seed;
+        this.relogio = new GameClock(ticksPorSegundo);
+        this.agendador = new Agendador(relogio);
+        armazem.usarRelogio(relogio);
+        this.random = new SplittableRandom(seed);
+
+        particulas = new SistemaParticulas(SistemaParticulas.CAPACIDADE_PADRAO, random.split());
+        player = new Player(600, 500, relogio);
+        player.setParticulas(particulas);
+        mapa = new Mapa();
+        grade = new GradeEspacial(mapa.getLargura(), mapa.getAltura(), TAMANHO_CELULA, MARGEM_GRADE);
+        camera = new Camera(600, 500);
+        cronometro = new Cronometro(agendador);
+        inimigos = new ArrayList<>();
+        adicionarInimigo(new Creeper(armazem, 300, 300));
+        adicionarInimigo(new Slime(armazem, 400, 400));
+        adicionarInimigo(new Zumbi(armazem, 600, 300));
+    }
+
+    // O inimigo nasce no armazém do mundo (new Zumbi(mundo.getArmazem(), x, y)) e entra aqui
+    // logo em seguida: o índice dele no armazém é o mesmo da lista e da grade
+    public void adicionarInimigo(Inimigo inimigo) {
+        if (inimigo.getArmazem() != armazem || inimigo.getIndice() != inimigos.size()) {
+            throw new IllegalArgumentException("Inimigo " + inimigo.getIndice() + " não é o próximo do armazém do mundo");
+        }
+        grade.inserir(inimigo.getIndice(), inimigo);
+        inimigos.add(inimigo);
+        maiorRaioDetecao = Math.max(maiorRaioDetecao, inimigo.getRaioDetecao());
+    }
+
+    public void atualizar() {
+        long inicioTick = profiler.inicio();
+        float deltaTime = relogio.getDeltaTime();
+
+        entrada.processar(relogio.getTick(), this::aplicarEntrada);
+
+        player.marcarPosicaoAnterior();
+        camera.marcarPosicaoAnterior();
+        armazem.marcarPosicaoAnterior();
+        armazem.avancarTemporizadores();
+
+        long inicio = profiler.inicio();
+        player.update(grade);
+        profiler.registrar(Fase.JOGADOR, inicio);
+
+        inicio = profiler.inicio();
+        camera.update(player, mapa.getLargura(), mapa.getAltura(), larguraTela, alturaTela);
+        profiler.registrar(Fase.CAMERA, inicio);
+
+        inicio = profiler.inicio();
+        grade.marcarRaio(player.getCentroX(), player.getCentroY(), maiorRaioDetecao);
+
+        int total = armazem.getTotal();
+        for (int i = 0; i < total; i++) {
+            armazem.setJogadorProximo(i, grade.estaMarcado(i));
+        }
+        if (atualizacaoParalela != null && total >= LIMIAR_PARALELO) {
+            atualizacaoParalela.atualizar(armazem, player, deltaTime);
+        } else {
+            // Uma passada por tipo; o dano ao jogador sai depois, na ordem dos índices
+            armazem.setAdiarDano(true);
+            armazem.atualizar(player, deltaTime, 0, total);
+            armazem.aplicarDanosPendentes(player);
+            armazem.setAdiarDano(false);
+        }
+        for (int i = 0; i < total; i++) {
+            if (armazem.estaVivo(i) && Log.ativo(Categoria.INIMIGOS, Nivel.DEBUG)) Log.debug(Categoria.INIMIGOS, "Updated " + inimigos.get(i).getClass().getSimpleName() + " at x=" + armazem.getX(i) + ", y=" + armazem.getY(i));
+            sincronizarGrade(i);
+            emitirEventos(i);
+        }
+        armazem.registrarTemporizadores();
+        profiler.registrar(Fase.IA, inicio);
+
+        particulas.atualizar();
+        claroes.atualizar();
+        agendador.executar();
+
+        relogio.avancar();
+        profiler.registrar(Fase.TICK, inicioTick);
+    }
+
+    // Reposiciona na grade quem trocou de célula e tira quem morreu
+    private void sincronizarGrade(int i) {
+        if (armazem.estaVivo(i)) {
+            grade.atualizar(i, armazem.getX(i), armazem.getY(i));
+        } else {
+            grade.remover(i);
+        }
+    }
+
+    // Os inimigos só marcam o que aconteceu; as partículas saem daqui, fora da fase paralela
+    private void emitirEventos(int i) {
+        int eventos = armazem.consumirEventos(i);
+        if (eventos == 0) return;
+        if ((eventos & ArmazemInimigos.EVENTO_EXPLOSAO) != 0) {
+            particulas.emitirExplosao(armazem.getX(i) + 8, armazem.getY(i) + 8);
+            claroes.adicionar(armazem.getX(i) + 8, armazem.getY(i) + 8, RAIO_CLARAO_EXPLOSAO, DURACAO_CLARAO_EXPLOSAO);
+        }
+        if ((eventos & ArmazemInimigos.EVENTO_POUSO) != 0) {
+            int largura = armazem.getLarguraHitbox(i);
+            particulas.emitirPouso(armazem.getX(i) + largura / 2, armazem.getY(i) + armazem.getAlturaHitbox(i), largura);
+        }
+    }
+
+    private void aplicarEntrada(byte tipo, int codigo) {
+        switch (tipo) {
+            case Entrada.TECLA_PRESSIONADA: player.handleKeyPress(codigo, true); break;
+            case Entrada.TECLA_SOLTA: player.handleKeyPress(codigo, false); break;
+            case Entrada.BOTAO_MOUSE: player.handleMouseButton(codigo); break;
+            default: break;
+        }
+    }
+
+    // Copia para o snapshot tudo o que a thread de render precisa do tick atual
+    public void capturar(RenderSnapshot snapshot, long tempoCaptura) {
+        long inicio = profiler.inicio();
+        snapshot.limpar(tempoCaptura, getTempoJogo());
+        snapshot.setCamera(camera.getXAnterior(), camera.getYAnterior(), camera.getX(), camera.getY());
+        snapshot.setViewport(larguraTela, alturaTela);
+        snapshot.setCorCeu(cronometro.getSkyColor(getTempoJogo()));
+
+        player.capturar(snapshot);
+        cronometro.capturar(snapshot);
+
+        // Só os inimigos nas células em volta da tela; a fila do snapshot descarta o resto
+        grade.consultarRetangulo(camera.getX() - MARGEM_CAPTURA, camera.getY() - MARGEM_CAPTURA,
+            larguraTela + MARGEM_CAPTURA * 2, alturaTela + MARGEM_CAPTURA * 2, visiveis);
+        for (int i = 0; i < visiveis.size(); i++) {
+            Inimigo inimigo = visiveis.get(i);
+            if (inimigo.estaVivo()) {
+                inimigo.capturar(snapshot);
+            }
+        }
+        particulas.capturar(snapshot);
+        claroes.capturar(snapshot);
+        profiler.registrar(Fase.CAPTURA, inicio);
+    }
+
+    // Resumo do estado para comparar execuções reproduzidas entre builds
+    public long calcularAssinatura() {
+        long hash = 17;
+        hash = hash * 31 + player.getX();
+        hash = hash * 31 + player.getY();
+        hash = hash * 31 + player.getVida();
+        for (int i = 0; i < armazem.getTotal(); i++) {
+            hash = hash * 31 + armazem.getX(i);
+            hash = hash * 31 + armazem.getY(i);
+            hash = hash * 31 + (armazem.estaVivo(i) ? 1 : 0);
+        }
+        return hash;
+    }
+
+    public int contarInimigosVivos() {
+        int vivos = 0;
+        for (int i = 0; i < armazem.getTotal(); i++) {
+            if (armazem.estaVivo(i)) vivos++;
+        }
+        return vivos;
+    }
+
+    public void setAtualizacaoParalela(boolean ativa) {
+        atualizacaoParalela = ativa ? new AtualizacaoParalela(ForkJoinPool.commonPool()) : null;
+    }
+
+    public Profiler getProfiler() { return profiler; }
+    public Entrada getEntrada() { return entrada; }
+    public long getTicks() { return relogio.getTick(); }
+    public long getTempoJogo() { return relogio.getTempoMillis(); }
+    public GameClock getRelogio() { return relogio; }
+    public Agendador getAgendador() { return agendador; }
+    public long getSeed() { return seed; }
+    public SplittableRandom getRandom() { return random; }
+    public Mapa getMapa() { return mapa; }
+    public GradeEspacial getGrade() { return grade; }
+    public SistemaParticulas getParticulas() { return particulas; }
+    public Player getPlayer() { return player; }
+    public Camera getCamera() { return camera; }
+    public Cronometro getCronometro() { return cronometro; }
+    public ArrayList<Inimigo> getInimigos() { return inimigos; }
+    public ArmazemInimigos getArmazem() { return armazem; }
+    public int getLarguraTela() { return larguraTela; }
+    public int getAlturaTela() { return alturaTela; }
+}